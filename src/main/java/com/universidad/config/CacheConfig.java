@@ -0,0 +1,44 @@
+package com.universidad.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.Map;
+
+/**
+ * Configura la caché en memoria de la aplicación utilizando Caffeine.
+ * Cada caché usada en los servicios (@Cacheable, @CachePut, @CacheEvict) tiene su propio
+ * tamaño máximo y política de expiración, definidos en application.properties con el prefijo
+ * "app.cache.specs". Todas las cachés registran estadísticas para que Actuator publique
+ * los aciertos, fallos y desalojos de cada una.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    private static final String ESPECIFICACION_POR_DEFECTO = "maximumSize=1000,expireAfterWrite=10m";
+
+    @Bean
+    public CacheManager cacheManager(Environment environment) {
+        String especificacionPorDefecto = environment.getProperty("app.cache.default-spec", ESPECIFICACION_POR_DEFECTO);
+        Map<String, String> especificaciones = Binder.get(environment)
+                .bind("app.cache.specs", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Las cachés que no estén configuradas se crean bajo demanda con la especificación por defecto
+        cacheManager.setCaffeine(Caffeine.from(especificacionPorDefecto).recordStats());
+
+        // Las cachés configuradas se registran al arrancar para que sus métricas queden publicadas
+        especificaciones.forEach((nombre, especificacion) ->
+                cacheManager.registerCustomCache(nombre, Caffeine.from(especificacion).recordStats().build()));
+        return cacheManager;
+    }
+}
@@ -0,0 +1,31 @@
+package com.universidad.config;
+
+import com.universidad.repository.EstadisticaDocenteRepository;
+import com.universidad.repository.EvaluacionDocenteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+// Esta clase calcula al iniciar la aplicación los agregados de las evaluaciones guardadas antes de que existiera
+// la tabla estadistica_docente; a partir de ahí se mantienen en cada alta y baja de evaluación.
+public class EstadisticaDocenteInitializer implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(EstadisticaDocenteInitializer.class);
+
+    @Autowired
+    private EstadisticaDocenteRepository estadisticaDocenteRepository;
+
+    @Autowired
+    private EvaluacionDocenteRepository evaluacionDocenteRepository;
+
+    @Override
+    public void run(String... args) {
+        if (estadisticaDocenteRepository.count() == 0 && evaluacionDocenteRepository.count() > 0) {
+            int docentes = estadisticaDocenteRepository.reconstruirDesdeEvaluaciones();
+            logger.info("Estadísticas de evaluación calculadas para {} docentes", docentes);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.universidad.config;
+
+import com.universidad.repository.EstudianteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+// Esta clase normaliza al iniciar la aplicación los estados de estudiantes guardados antes de que existiera
+// la normalización en la entidad, para que la consulta de activos por índice no omita filas como "Activo " o "ACTIVO".
+public class EstudianteEstadoInitializer implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(EstudianteEstadoInitializer.class);
+
+    @Autowired
+    private EstudianteRepository estudianteRepository;
+
+    @Override
+    public void run(String... args) {
+        // Con el índice parcial, la normalización solo recorre la tabla la primera vez
+        estudianteRepository.crearIndiceEstadosSinNormalizar();
+        int normalizados = estudianteRepository.normalizarEstados();
+        if (normalizados > 0) {
+            logger.info("Estados de estudiante normalizados: {}", normalizados);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.universidad.config;
+
+import com.universidad.repository.EvaluacionDocenteRepository;
+import com.universidad.repository.EvaluacionRollupRepository;
+import com.universidad.service.ITendenciaEvaluacionesService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+// Esta clase calcula al iniciar la aplicación los agregados por día de las evaluaciones guardadas antes de que
+// existieran las tablas de agregados, y compacta en meses los días anteriores al período de retención.
+public class EvaluacionRollupInitializer implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(EvaluacionRollupInitializer.class);
+
+    @Autowired
+    private EvaluacionRollupRepository evaluacionRollupRepository;
+
+    @Autowired
+    private EvaluacionDocenteRepository evaluacionDocenteRepository;
+
+    @Autowired
+    private ITendenciaEvaluacionesService tendenciaEvaluacionesService;
+
+    @Override
+    public void run(String... args) {
+        if (evaluacionRollupRepository.contarFilas() == 0 && evaluacionDocenteRepository.count() > 0) {
+            int dias = evaluacionRollupRepository.reconstruirDesdeEvaluaciones();
+            logger.info("Agregados diarios de evaluaciones calculados: {}", dias);
+            tendenciaEvaluacionesService.compactar();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.universidad.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mide los métodos públicos de los servicios (@Service) de la aplicación, es decir, las llamadas de la API:
+ * - servicio.llamadas: tiempo de cada llamada, con etiquetas clase, metodo y exception ("none" si terminó bien).
+ *   Los percentiles e histogramas se configuran en application.properties (management.metrics.distribution.*).
+ * - servicio.llamadas.active: llamadas en curso y su duración.
+ * - servicio.errores: llamadas que terminaron con una excepción.
+ * No se miden las tareas @Scheduled (no son llamadas de la API y solo ensuciarían los percentiles) ni los
+ * métodos que escriben en un OutputStream, cuya duración es la de la descarga del cliente.
+ * Los tiempos de los endpoints los registra Spring Boot en http.server.requests.
+ */
+@Aspect
+@Component
+public class MetricasServiciosAspect {
+
+    static final String TIEMPO = "servicio.llamadas";
+    static final String ERRORES = "servicio.errores";
+
+    private final MeterRegistry meterRegistry;
+
+    // Medidores del camino sin error por método, para no buscarlos en el registro en cada llamada
+    private final Map<Method, Medidores> medidores = new ConcurrentHashMap<>();
+
+    public MetricasServiciosAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.universidad..*(..)) && @within(org.springframework.stereotype.Service)"
+            + " && !@annotation(org.springframework.scheduling.annotation.Scheduled)"
+            + " && !execution(* *(java.io.OutputStream, ..))")
+    public Object medir(ProceedingJoinPoint punto) throws Throwable {
+        MethodSignature firma = (MethodSignature) punto.getSignature();
+        Medidores medidor = medidores.computeIfAbsent(firma.getMethod(), metodo -> crearMedidores(firma));
+
+        LongTaskTimer.Sample enCurso = medidor.enCurso().start();
+        Timer.Sample muestra = Timer.start(meterRegistry);
+        try {
+            Object resultado = punto.proceed();
+            muestra.stop(medidor.exito());
+            return resultado;
+        } catch (Throwable error) {
+            String excepcion = error.getClass().getSimpleName();
+            muestra.stop(Timer.builder(TIEMPO).tags(medidor.tags()).tag("exception", excepcion).register(meterRegistry));
+            Counter.builder(ERRORES).tags(medidor.tags()).tag("exception", excepcion).register(meterRegistry).increment();
+            throw error;
+        } finally {
+            enCurso.stop();
+        }
+    }
+
+    private Medidores crearMedidores(MethodSignature firma) {
+        Tags tags = Tags.of("clase", firma.getDeclaringType().getSimpleName(), "metodo", firma.getName());
+        return new Medidores(
+                tags,
+                Timer.builder(TIEMPO).tags(tags).tag("exception", "none").register(meterRegistry),
+                LongTaskTimer.builder(TIEMPO + ".active").tags(tags).register(meterRegistry));
+    }
+
+    private record Medidores(Tags tags, Timer exito, LongTaskTimer enCurso) {
+    }
+}
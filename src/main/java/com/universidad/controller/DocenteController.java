@@ -0,0 +1,46 @@
+package com.universidad.controller;
+
+import com.universidad.dto.DocenteDTO;
+import com.universidad.service.IDocenteService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/docentes")
+public class DocenteController {
+
+    private final IDocenteService docenteService;
+
+    public DocenteController(IDocenteService docenteService) {
+        this.docenteService = docenteService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<DocenteDTO>> obtenerDirectorio() {
+        return ResponseEntity.ok(docenteService.obtenerDirectorio());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<DocenteDTO> obtenerDocentePorId(@PathVariable Long id) {
+        return docenteService.obtenerDocentePorId(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/nro-empleado/{nroEmpleado}")
+    public ResponseEntity<DocenteDTO> obtenerDocentePorNroEmpleado(@PathVariable String nroEmpleado) {
+        return docenteService.obtenerDocentePorNroEmpleado(nroEmpleado)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/departamentos/{departamento}")
+    public ResponseEntity<List<DocenteDTO>> obtenerDocentesPorDepartamento(@PathVariable String departamento) {
+        return ResponseEntity.ok(docenteService.obtenerDocentesPorDepartamento(departamento));
+    }
+}
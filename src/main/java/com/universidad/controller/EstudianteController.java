@@ -2,25 +2,31 @@ package com.universidad.controller;
 
 import com.universidad.model.Estudiante;
 import com.universidad.model.Materia;
+import com.universidad.service.IEstudianteImportacionService;
 import com.universidad.service.IEstudianteService;
 
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import com.universidad.dto.EstudianteDTO;
+import com.universidad.dto.ImportacionResultadoDTO;
+import com.universidad.dto.PaginaDTO;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -29,11 +35,12 @@ import java.util.List;
 public class EstudianteController {
 
     private final IEstudianteService estudianteService;
-    private static final Logger logger = LoggerFactory.getLogger(EstudianteController.class);
+    private final IEstudianteImportacionService estudianteImportacionService;
 
     @Autowired
-    public EstudianteController(IEstudianteService estudianteService) {
+    public EstudianteController(IEstudianteService estudianteService, IEstudianteImportacionService estudianteImportacionService) {
         this.estudianteService = estudianteService;
+        this.estudianteImportacionService = estudianteImportacionService;
     }
 
     @Operation(summary = "Obtener todos los estudiantes")
@@ -44,14 +51,40 @@ public class EstudianteController {
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     @GetMapping
     public ResponseEntity<List<EstudianteDTO>> obtenerTodosLosEstudiantes() {
-        long inicio = System.currentTimeMillis();
-        logger.info("[ESTUDIANTE] Inicio obtenerTodosLosEstudiantes: {}", inicio);
         List<EstudianteDTO> estudiantes = estudianteService.obtenerTodosLosEstudiantes();
-        long fin = System.currentTimeMillis();
-        logger.info("[ESTUDIANTE] Fin obtenerTodosLosEstudiantes: {} (Duracion: {} ms)", fin, (fin - inicio));
         return ResponseEntity.ok(estudiantes);
     }
 
+    @Operation(summary = "Obtener estudiantes paginados por cursor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de estudiantes obtenida exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Cursor o tamaño de página inválido"),
+            @ApiResponse(responseCode = "403", description = "No autorizado")
+    })
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaDTO<EstudianteDTO>> obtenerEstudiantesPaginados(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamano) {
+        PaginaDTO<EstudianteDTO> pagina = estudianteService.obtenerEstudiantesPaginados(cursor, tamano);
+        return ResponseEntity.ok(pagina);
+    }
+
+    @Operation(summary = "Exportar todos los estudiantes en formato NDJSON (un JSON por línea)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportación enviada exitosamente"),
+            @ApiResponse(responseCode = "403", description = "No autorizado")
+    })
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @GetMapping(value = "/exportar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarEstudiantes() {
+        // El cuerpo se escribe a medida que se leen los estudiantes, sin cargarlos todos en memoria
+        StreamingResponseBody cuerpo = salida -> estudianteService.exportarEstudiantesNdjson(salida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(cuerpo);
+    }
+
     @Operation(summary = "Obtener un estudiante por número de inscripción")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Estudiante encontrado"),
@@ -62,11 +95,7 @@ public class EstudianteController {
     @GetMapping("/inscripcion/{numeroInscripcion}")
     public ResponseEntity<EstudianteDTO> obtenerEstudiantePorNumeroInscripcion(
             @PathVariable String numeroInscripcion) {
-        long inicio = System.currentTimeMillis();
-        logger.info("[ESTUDIANTE] Inicio obtenerEstudiantePorNumeroInscripcion: {}", inicio);
         EstudianteDTO estudiante = estudianteService.obtenerEstudiantePorNumeroInscripcion(numeroInscripcion);
-        long fin = System.currentTimeMillis();
-        logger.info("[ESTUDIANTE] Fin obtenerEstudiantePorNumeroInscripcion: {} (Duracion: {} ms)", fin, (fin - inicio));
         return ResponseEntity.ok(estudiante);
     }
 
@@ -99,6 +128,23 @@ public class EstudianteController {
         return ResponseEntity.status(HttpStatus.CREATED).body(nuevoEstudiante);
     }
 
+    @Operation(summary = "Importar estudiantes de forma masiva (CSV con encabezado o NDJSON)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importación procesada; incluye los errores de cada fila rechazada"),
+            @ApiResponse(responseCode = "403", description = "No autorizado")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/importar", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportacionResultadoDTO> importarEstudiantes(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream cuerpo) throws IOException {
+        IEstudianteImportacionService.Formato formato = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType))
+                ? IEstudianteImportacionService.Formato.NDJSON
+                : IEstudianteImportacionService.Formato.CSV;
+        ImportacionResultadoDTO resultado = estudianteImportacionService.importarEstudiantes(cuerpo, formato);
+        return ResponseEntity.ok(resultado);
+    }
+
     @Operation(summary = "Actualizar un estudiante")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Estudiante actualizado exitosamente"),
@@ -1,18 +1,31 @@
 package com.universidad.controller;
 
+import com.universidad.dto.EstadisticasDocenteDTO;
+import com.universidad.dto.EvaluacionDocenteDTO;
+import com.universidad.dto.PaginaDTO;
+import com.universidad.dto.TendenciaPuntoDTO;
 import com.universidad.model.EvaluacionDocente;
 import com.universidad.service.IEvaluacionDocenteService;
+import com.universidad.service.IEvaluacionIngestaService;
+import com.universidad.service.ITendenciaEvaluacionesService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/evaluaciones-docente")
 public class EvaluacionDocenteController {
     @Autowired
     private IEvaluacionDocenteService evaluacionDocenteService;
+    @Autowired
+    private IEvaluacionIngestaService evaluacionIngestaService;
+    @Autowired
+    private ITendenciaEvaluacionesService tendenciaEvaluacionesService;
 
     @PostMapping
     public ResponseEntity<EvaluacionDocente> crearEvaluacion(@RequestBody EvaluacionDocente evaluacion) {
@@ -20,12 +33,54 @@ public class EvaluacionDocenteController {
         return ResponseEntity.status(HttpStatus.CREATED).body(nueva);
     }
 
+    // Ingesta por lotes: responde cuando el lote que contiene la evaluación se confirmó en la base de datos
+    @PostMapping("/ingesta")
+    public CompletableFuture<ResponseEntity<EvaluacionDocenteDTO>> ingestarEvaluacion(@RequestBody EvaluacionDocenteDTO evaluacion) {
+        return evaluacionIngestaService.encolar(evaluacion)
+                .thenApply(guardada -> ResponseEntity.status(HttpStatus.CREATED).body(guardada));
+    }
+
     @GetMapping("/docente/{docenteId}")
     public ResponseEntity<List<EvaluacionDocente>> obtenerEvaluacionesPorDocente(@PathVariable Long docenteId) {
         List<EvaluacionDocente> evaluaciones = evaluacionDocenteService.obtenerEvaluacionesPorDocente(docenteId);
         return ResponseEntity.ok(evaluaciones);
     }
 
+    @GetMapping("/docente/{docenteId}/pagina")
+    public ResponseEntity<PaginaDTO<EvaluacionDocenteDTO>> obtenerEvaluacionesPaginadasPorDocente(
+            @PathVariable Long docenteId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamano) {
+        PaginaDTO<EvaluacionDocenteDTO> pagina = evaluacionDocenteService.obtenerEvaluacionesPaginadasPorDocente(
+                docenteId, desde, hasta, cursor, tamano);
+        return ResponseEntity.ok(pagina);
+    }
+
+    @GetMapping("/docente/{docenteId}/estadisticas")
+    public ResponseEntity<EstadisticasDocenteDTO> obtenerEstadisticasPorDocente(@PathVariable Long docenteId) {
+        return ResponseEntity.ok(evaluacionDocenteService.obtenerEstadisticasPorDocente(docenteId));
+    }
+
+    @GetMapping("/tendencia/docente/{docenteId}")
+    public ResponseEntity<List<TendenciaPuntoDTO>> obtenerTendenciaPorDocente(
+            @PathVariable Long docenteId,
+            @RequestParam(defaultValue = "MES") ITendenciaEvaluacionesService.Granularidad granularidad,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        return ResponseEntity.ok(tendenciaEvaluacionesService.obtenerTendenciaPorDocente(docenteId, granularidad, desde, hasta));
+    }
+
+    @GetMapping("/tendencia/departamento/{departamento}")
+    public ResponseEntity<List<TendenciaPuntoDTO>> obtenerTendenciaPorDepartamento(
+            @PathVariable String departamento,
+            @RequestParam(defaultValue = "MES") ITendenciaEvaluacionesService.Granularidad granularidad,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        return ResponseEntity.ok(tendenciaEvaluacionesService.obtenerTendenciaPorDepartamento(departamento, granularidad, desde, hasta));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<EvaluacionDocente> obtenerEvaluacionPorId(@PathVariable Long id) {
         EvaluacionDocente evaluacion = evaluacionDocenteService.obtenerEvaluacionPorId(id);
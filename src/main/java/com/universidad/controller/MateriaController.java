@@ -3,18 +3,16 @@ import com.universidad.dto.MateriaDTO;
 
 
 import com.universidad.model.Materia;
+import com.universidad.service.IGrafoPrerequisitosService;
 import com.universidad.service.IMateriaService;
 
-import jakarta.transaction.Transactional;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import com.universidad.dto.MateriaDTO;
+import com.universidad.dto.PaginaDTO;
 import java.util.List;
 
 @RestController
@@ -22,30 +20,31 @@ import java.util.List;
 public class MateriaController {
 
     private final IMateriaService materiaService;
-    private static final Logger logger = LoggerFactory.getLogger(MateriaController.class);
+    private final IGrafoPrerequisitosService grafoPrerequisitosService;
 
     @Autowired
-    public MateriaController(IMateriaService materiaService) {
+    public MateriaController(IMateriaService materiaService, IGrafoPrerequisitosService grafoPrerequisitosService) {
         this.materiaService = materiaService;
+        this.grafoPrerequisitosService = grafoPrerequisitosService;
     }
 
     @GetMapping
     public ResponseEntity<List<MateriaDTO>> obtenerTodasLasMaterias() {
-        long inicio = System.currentTimeMillis();
-        logger.info("[MATERIA] Inicio obtenerTodasLasMaterias: {}", inicio);
         List<MateriaDTO> result = materiaService.obtenerTodasLasMaterias();
-        long fin = System.currentTimeMillis();
-        logger.info("[MATERIA] Fin obtenerTodasLasMaterias: {} (Duracion: {} ms)", fin, (fin-inicio));
         return ResponseEntity.ok(result);
     }
 
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaDTO<MateriaDTO>> obtenerMateriasPaginadas(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamano) {
+        PaginaDTO<MateriaDTO> pagina = materiaService.obtenerMateriasPaginadas(cursor, tamano);
+        return ResponseEntity.ok(pagina);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<MateriaDTO> obtenerMateriaPorId(@PathVariable Long id) {
-        long inicio = System.currentTimeMillis();
-        logger.info("[MATERIA] Inicio obtenerMateriaPorId: {}", inicio);
         MateriaDTO materia = materiaService.obtenerMateriaPorId(id);
-        long fin = System.currentTimeMillis();
-        logger.info("[MATERIA] Fin obtenerMateriaPorId: {} (Duracion: {} ms)", fin, (fin-inicio));
         if (materia == null) {
             return ResponseEntity.notFound().build();
         }
@@ -82,17 +81,34 @@ public class MateriaController {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/{id}/prerequisitos/cierre") // Todo lo que se debe aprobar antes de la materia, en un orden válido
+    public ResponseEntity<List<Long>> obtenerCierrePrerequisitos(@PathVariable Long id) {
+        return grafoPrerequisitosService.obtenerCierrePrerequisitos(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/desbloquea") // Todas las materias que la materia habilita directa o indirectamente
+    public ResponseEntity<List<Long>> obtenerMateriasDesbloqueadas(@PathVariable Long id) {
+        return grafoPrerequisitosService.obtenerMateriasDesbloqueadas(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/orden-topologico") // Orden válido para cursar todo el plan de estudios
+    public ResponseEntity<List<Long>> obtenerOrdenTopologico() {
+        return grafoPrerequisitosService.obtenerOrdenTopologico()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build()); // El grafo tiene ciclos
+    }
+
     @GetMapping("/formaria-circulo/{materiaId}/{prerequisitoId}") // Endpoint para verificar si una materia formaría un círculo con un prerequisito
-    @Transactional // Anotación que indica que este método debe ejecutarse dentro de una transacción
     public ResponseEntity<Boolean> formariaCirculo(@PathVariable Long materiaId, @PathVariable Long prerequisitoId) {
-        MateriaDTO materiaDTO = materiaService.obtenerMateriaPorId(materiaId); // Obtiene la materia por su ID
-        if (materiaDTO == null) { // Verifica si la materia existe
+        if (!grafoPrerequisitosService.existeMateria(materiaId)) { // Verifica si la materia existe
             return ResponseEntity.notFound().build();
         }
-        Materia materia = new Materia(materiaDTO.getId(), materiaDTO.getNombreMateria(), materiaDTO.getCodigoUnico());
-        // Crea una nueva instancia de Materia con los datos obtenidos
-        // Verifica si agregar el prerequisito formaría un círculo
-        boolean circulo = materia.formariaCirculo(prerequisitoId); // Llama al método formariaCirculo de la clase Materia
+        // Verifica sobre el índice en memoria del grafo de prerequisitos si agregar el prerequisito formaría un círculo
+        boolean circulo = grafoPrerequisitosService.formariaCiclo(materiaId, prerequisitoId);
         if (circulo) { // Si formaría un círculo, retorna un error 400 Bad Request
             return ResponseEntity.badRequest().body(circulo);
         }
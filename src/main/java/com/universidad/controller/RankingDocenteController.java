@@ -0,0 +1,49 @@
+package com.universidad.controller;
+
+import com.universidad.dto.PercentilesDepartamentoDTO;
+import com.universidad.dto.RankingDocenteDTO;
+import com.universidad.service.IRankingDocentesService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/docentes/ranking")
+public class RankingDocenteController {
+
+    private final IRankingDocentesService rankingDocentesService;
+
+    public RankingDocenteController(IRankingDocentesService rankingDocentesService) {
+        this.rankingDocentesService = rankingDocentesService;
+    }
+
+    @GetMapping("/departamentos/{departamento}")
+    public ResponseEntity<List<RankingDocenteDTO>> obtenerMejores(
+            @PathVariable String departamento,
+            @RequestParam(defaultValue = "10") int cantidad) {
+        return rankingDocentesService.obtenerMejores(departamento, cantidad)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/departamentos/{departamento}/percentiles")
+    public ResponseEntity<PercentilesDepartamentoDTO> obtenerPercentiles(
+            @PathVariable String departamento,
+            @RequestParam(defaultValue = "25,50,75,90") List<Integer> p) {
+        return rankingDocentesService.obtenerPercentiles(departamento, p)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/docentes/{docenteId}")
+    public ResponseEntity<RankingDocenteDTO> obtenerPosicion(@PathVariable Long docenteId) {
+        return rankingDocentesService.obtenerPosicion(docenteId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -18,6 +18,6 @@ public class DocenteDTO {
     private String email;
     private LocalDate fechaNacimiento;
     private String nroEmpleado;
-    private String departmento;
+    private String departamento;
 
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.universidad.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Estadísticas de las evaluaciones de un docente.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EstadisticasDocenteDTO {
+    private Long docenteId;
+    /** Cantidad de evaluaciones */
+    private long cantidad;
+    /** Promedio de las puntuaciones (null si no hay evaluaciones) */
+    private Double promedio;
+    /** Desviación estándar poblacional de las puntuaciones (null si no hay evaluaciones) */
+    private Double desviacionEstandar;
+    /** Cantidad de evaluaciones por puntuación (1 a 5) */
+    private Map<Integer, Long> distribucion;
+}
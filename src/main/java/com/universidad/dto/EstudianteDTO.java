@@ -29,6 +29,8 @@ import jakarta.validation.constraints.Pattern;
 public class EstudianteDTO implements Serializable {
     /** Identificador único del estudiante */
     private Long id;
+    /** Versión del estudiante para el control de concurrencia optimista (opcional al actualizar) */
+    private Long version;
     /** Nombre del estudiante */
     @NotBlank(message = "El nombre es obligatorio")
     private String nombre;
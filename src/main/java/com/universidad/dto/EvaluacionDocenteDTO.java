@@ -0,0 +1,23 @@
+package com.universidad.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Evaluación de un docente sin la entidad Docente anidada: solo su ID.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EvaluacionDocenteDTO {
+    private Long id;
+    private Long docenteId;
+    private Integer puntuacion;
+    private String comentario;
+    private LocalDate fecha;
+}
@@ -0,0 +1,39 @@
+package com.universidad.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de una importación masiva de estudiantes.
+ * Informa cuántas filas se leyeron, cuántas se insertaron y el detalle de las filas rechazadas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportacionResultadoDTO {
+    /** Cantidad de filas de datos leídas */
+    private int totalFilas;
+    /** Cantidad de estudiantes insertados */
+    private int insertados;
+    /** Filas rechazadas con sus errores */
+    private List<ErrorFila> errores;
+
+    /**
+     * Errores de una fila rechazada.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ErrorFila {
+        /** Número de línea de la fila en el archivo importado */
+        private long fila;
+        /** Errores de la fila: campo (o "fila") y mensaje */
+        private Map<String, String> errores;
+    }
+}
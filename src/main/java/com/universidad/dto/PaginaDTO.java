@@ -0,0 +1,27 @@
+package com.universidad.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de resultados obtenida con paginación por cursor (keyset).
+ * Para pedir la página siguiente se envía el valor de siguienteCursor; si es null no hay más resultados.
+ *
+ * @param <T> tipo de los elementos de la página
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaginaDTO<T> {
+    /** Elementos de la página actual */
+    private List<T> elementos;
+    /** Cursor opaco para obtener la página siguiente (null si es la última) */
+    private String siguienteCursor;
+    /** Tamaño de página aplicado */
+    private int tamano;
+}
@@ -0,0 +1,23 @@
+package com.universidad.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Bandas de percentiles del promedio de evaluaciones de los docentes de un departamento.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PercentilesDepartamentoDTO {
+    private String departamento;
+    /** Cantidad de docentes rankeados en el departamento */
+    private int total;
+    /** Percentil (0 a 100) -> promedio en ese percentil */
+    private Map<Integer, Double> percentiles;
+}
@@ -0,0 +1,26 @@
+package com.universidad.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Posición de un docente en el ranking de su departamento.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RankingDocenteDTO {
+    private Long docenteId;
+    private String departamento;
+    /** Posición en el departamento, empezando en 1 */
+    private int posicion;
+    /** Cantidad de docentes rankeados en el departamento */
+    private int total;
+    private double promedio;
+    private long cantidadEvaluaciones;
+    /** Porcentaje de docentes del departamento con menor promedio (los empates cuentan la mitad) */
+    private double percentil;
+}
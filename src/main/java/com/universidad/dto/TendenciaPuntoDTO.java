@@ -0,0 +1,24 @@
+package com.universidad.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Agregado de las evaluaciones en un período (día o mes) de una tendencia.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TendenciaPuntoDTO {
+    /** Inicio del período: el día, o el primer día del mes */
+    private LocalDate periodo;
+    private long cantidad;
+    private double promedio;
+    /** Desviación estándar poblacional de las puntuaciones del período */
+    private double desviacionEstandar;
+}
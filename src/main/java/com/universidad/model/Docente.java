@@ -1,10 +1,12 @@
 package com.universidad.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 
 import java.util.List;
@@ -15,7 +17,8 @@ import java.util.List;
 @AllArgsConstructor
 @SuperBuilder
 @Entity
-@Table(name = "docente") // Nombre de la tabla en la base de datos  
+@Table(name = "docente", // Nombre de la tabla en la base de datos
+       indexes = @Index(name = "idx_docente_departamento", columnList = "departamento")) // Docentes por departamento
 public class Docente extends Persona {
     @Column(name = "nro_empleado", nullable = false, unique = true) // Columna no nula y con valor único    
     private String nroEmpleado;
@@ -25,7 +28,11 @@ public class Docente extends Persona {
 
     /**
      * Lista de evaluaciones asociadas al docente.
+     * Se excluye de JSON, toString y equals/hashCode para que leer un docente nunca inicialice su historial.
      */
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @OneToMany(mappedBy = "docente", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<EvaluacionDocente> evaluaciones; // Lista de evaluaciones asociadas al docente
 }
@@ -0,0 +1,39 @@
+package com.universidad.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Agregados de las evaluaciones de un docente, mantenidos en cada alta y baja de evaluación.
+ * Permiten calcular el promedio, la desviación estándar y la distribución de puntuaciones
+ * leyendo una sola fila, sin recorrer las evaluaciones.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "estadistica_docente") // Nombre de la tabla en la base de datos
+public class EstadisticaDocente {
+    @Id
+    @Column(name = "docente_id")
+    private Long docenteId;
+
+    private long cantidad; // Cantidad de evaluaciones
+    private long suma; // Suma de las puntuaciones
+    @Column(name = "suma_cuadrados")
+    private long sumaCuadrados; // Suma de los cuadrados de las puntuaciones
+
+    // Histograma: cantidad de evaluaciones con cada puntuación (1 a 5)
+    @Column(name = "puntuacion_1")
+    private long puntuacion1;
+    @Column(name = "puntuacion_2")
+    private long puntuacion2;
+    @Column(name = "puntuacion_3")
+    private long puntuacion3;
+    @Column(name = "puntuacion_4")
+    private long puntuacion4;
+    @Column(name = "puntuacion_5")
+    private long puntuacion5;
+}
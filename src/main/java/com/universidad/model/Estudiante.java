@@ -29,8 +29,15 @@ import jakarta.persistence.*; // Importa las anotaciones de JPA para la persiste
  * @author Universidad
  */
 @Entity // Anotación que indica que esta clase es una entidad JPA
-@Table(name = "estudiante") // Nombre de la tabla en la base de datos
+@Table(name = "estudiante", // Nombre de la tabla en la base de datos
+        indexes = @Index(name = "idx_estudiante_estado_id", columnList = "estado, id_persona") // Índice para filtrar por estado ordenando por ID
+)
 public class Estudiante extends Persona { // Define la clase Estudiante que extiende de Persona
+
+    /**
+     * Valor normalizado del estado de un estudiante activo.
+     */
+    public static final String ESTADO_ACTIVO = "activo";
     
     /**
      * Número de inscripción único del estudiante.
@@ -102,6 +109,18 @@ public class Estudiante extends Persona { // Define la clase Estudiante que exti
     )
     private List<Materia> materias; // Lista de materias asociadas al estudiante
 
+    /**
+     * Normaliza el estado (sin espacios y en minúsculas) antes de guardarlo,
+     * para que las consultas por estado puedan usar el índice con una comparación exacta.
+     */
+    @PrePersist
+    @PreUpdate
+    private void normalizarEstado() {
+        if (estado != null) {
+            estado = estado.trim().toLowerCase();
+        }
+    }
+
     /*@Version
     private Long version; // Campo para manejar la versión de la entidad, útil para el control de concurrencia*/
 
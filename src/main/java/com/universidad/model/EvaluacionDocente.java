@@ -9,7 +9,8 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "evaluacion_docente") // Nombre de la tabla en la base de datos
+@Table(name = "evaluacion_docente", // Nombre de la tabla en la base de datos
+       indexes = @Index(name = "idx_evaluacion_docente_docente_fecha", columnList = "docente_id, fecha, id")) // Historial por docente y rango de fechas
 public class EvaluacionDocente { 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
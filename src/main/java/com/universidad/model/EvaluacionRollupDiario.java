@@ -0,0 +1,41 @@
+package com.universidad.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Agregados de las evaluaciones de un docente en un día, mantenidos en cada alta y baja de evaluación.
+ * Los días anteriores al período de retención se compactan periódicamente en EvaluacionRollupMensual.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(EvaluacionRollupDiario.Clave.class)
+@Table(name = "evaluacion_rollup_diario") // Nombre de la tabla en la base de datos
+public class EvaluacionRollupDiario {
+    @Id
+    @Column(name = "docente_id")
+    private Long docenteId;
+
+    @Id
+    private LocalDate fecha;
+
+    private long cantidad; // Cantidad de evaluaciones del día
+    private long suma; // Suma de las puntuaciones
+    @Column(name = "suma_cuadrados")
+    private long sumaCuadrados; // Suma de los cuadrados de las puntuaciones
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Clave implements Serializable {
+        private Long docenteId;
+        private LocalDate fecha;
+    }
+}
@@ -0,0 +1,41 @@
+package com.universidad.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Agregados de las evaluaciones de un docente en un mes (mes = primer día del mes), obtenidos al compactar
+ * los agregados diarios anteriores al período de retención.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(EvaluacionRollupMensual.Clave.class)
+@Table(name = "evaluacion_rollup_mensual") // Nombre de la tabla en la base de datos
+public class EvaluacionRollupMensual {
+    @Id
+    @Column(name = "docente_id")
+    private Long docenteId;
+
+    @Id
+    private LocalDate mes;
+
+    private long cantidad; // Cantidad de evaluaciones del mes
+    private long suma; // Suma de las puntuaciones
+    @Column(name = "suma_cuadrados")
+    private long sumaCuadrados; // Suma de los cuadrados de las puntuaciones
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Clave implements Serializable {
+        private Long docenteId;
+        private LocalDate mes;
+    }
+}
@@ -58,7 +58,11 @@ public class Materia implements Serializable {
     @JoinTable(
         name = "materia_prerequisito",
         joinColumns = @JoinColumn(name = "id_materia"),
-        inverseJoinColumns = @JoinColumn(name = "id_prerequisito") // Nombre de la columna en la tabla inversa
+        inverseJoinColumns = @JoinColumn(name = "id_prerequisito"), // Nombre de la columna en la tabla inversa
+        indexes = {
+            @Index(name = "idx_materia_prerequisito_materia", columnList = "id_materia"), // Búsqueda de prerequisitos de una materia
+            @Index(name = "idx_materia_prerequisito_prerequisito", columnList = "id_prerequisito") // Búsqueda de materias que dependen de otra
+        }
     )
     private List<Materia> prerequisitos;
 
@@ -72,7 +76,10 @@ public class Materia implements Serializable {
      * Verifica si agregar la materia con el ID dado como prerequisito formaría un ciclo.
      * @param prerequisitoId ID de la materia candidata a prerequisito
      * @return true si se formaría un ciclo, false en caso contrario
+     * @deprecated recorre las colecciones perezosas una consulta por arista;
+     *             usar {@link com.universidad.service.IGrafoPrerequisitosService#formariaCiclo(Long, Long)}
      */
+    @Deprecated
     public boolean formariaCirculo(Long prerequisitoId) {
         return formariaCirculoRecursivo(this.getId(), prerequisitoId, new java.util.HashSet<>());
     }
@@ -5,6 +5,7 @@ import com.universidad.registro.model.Rol;
 import com.universidad.registro.model.Usuario;
 import com.universidad.registro.repository.RolRepository;
 import com.universidad.registro.repository.UsuarioRepository;
+import com.universidad.registro.service.RegistroRoles;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -30,12 +31,18 @@ public class DatabaseInitializer implements CommandLineRunner {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private RegistroRoles registroRoles;
+
     // Este método se ejecuta al iniciar la aplicación y se encarga de inicializar los roles y el usuario administrador
     // por defecto si no existen en la base de datos.
     @Override
     public void run(String... args) throws Exception {
         // Inicializar roles si no existen
         inicializarRoles();
+
+        // Cargar los roles en memoria para que el registro de usuarios no tenga que consultarlos
+        registroRoles.cargar();
         
         // Crear usuario administrador por defecto si no existe
         crearAdminPorDefecto();
@@ -74,9 +81,7 @@ public class DatabaseInitializer implements CommandLineRunner {
             admin.setActivo(true);
             
             Set<Rol> roles = new HashSet<>();
-            Rol rolAdmin = rolRepository.findByNombre(Rol.NombreRol.ROL_ADMIN)
-                    .orElseThrow(() -> new RuntimeException("Error: Rol no encontrado."));
-            roles.add(rolAdmin);
+            roles.add(registroRoles.obtener(Rol.NombreRol.ROL_ADMIN));
             admin.setRoles(roles);
             
             usuarioRepository.save(admin);
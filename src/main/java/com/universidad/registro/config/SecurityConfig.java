@@ -2,6 +2,7 @@ package com.universidad.registro.config;
 
 import com.universidad.registro.security.JwtAuthenticationEntryPoint;
 import com.universidad.registro.security.JwtAuthenticationFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -13,13 +14,12 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
-import org.springframework.session.jdbc.config.annotation.web.http.EnableJdbcHttpSession;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
-@EnableJdbcHttpSession
 /** 
  * Esta clase configura la seguridad de la aplicación utilizando Spring Security.
  * Se encarga de definir las reglas de autorización y autenticación para los endpoints de la API.
@@ -31,8 +31,24 @@ public class SecurityConfig {
      */
     private final JwtAuthenticationEntryPoint unauthorizedHandler;
 
-    public SecurityConfig(JwtAuthenticationEntryPoint unauthorizedHandler) {
+    /**
+     * Puerto de los endpoints de gestión (management.server.port); -1 si se sirven en el puerto de la aplicación.
+     */
+    private final int puertoGestion;
+
+    public SecurityConfig(JwtAuthenticationEntryPoint unauthorizedHandler,
+                          @Value("${management.server.port:-1}") int puertoGestion) {
         this.unauthorizedHandler = unauthorizedHandler;
+        this.puertoGestion = puertoGestion;
+    }
+
+    /**
+     * Scrape de Prometheus: solo por el puerto de gestión, que no se publica fuera de la red interna.
+     * Por el puerto de la aplicación /actuator/prometheus sigue exigiendo ADMIN.
+     */
+    private RequestMatcher prometheusEnPuertoDeGestion() {
+        return request -> puertoGestion > 0 && request.getLocalPort() == puertoGestion
+                && "/actuator/prometheus".equals(request.getRequestURI());
     }
 
     /**
@@ -85,6 +101,8 @@ public class SecurityConfig {
                                 "/webjars/**"
                         ).permitAll()
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers(prometheusEnPuertoDeGestion()).permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/api/docentes/**").hasAnyRole("ADMIN", "DOCENTE")
                         .requestMatchers("/api/estudiantes/**").hasAnyRole("ADMIN", "DOCENTE", "ESTUDIANTE")
                         .anyRequest().authenticated()
@@ -0,0 +1,84 @@
+package com.universidad.registro.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.session.MapSession;
+import org.springframework.session.MapSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+
+import java.time.Duration;
+
+/**
+ * Selecciona el almacén de sesiones HTTP con la propiedad "app.sesiones.almacen".
+ * La API se autentica con JWT y es sin estado, por lo que sus solicitudes nunca crean ni leen una sesión;
+ * el almacén solo se usa en las páginas que abren una sesión explícitamente.
+ * - memoria (por defecto): sesiones en una caché local acotada ("app.sesiones.maximo"), sin consultas a la
+ *   base de datos. Al superar el máximo se descartan las sesiones menos usadas; no se comparten entre instancias.
+ * - jdbc: sesiones en las tablas SPRING_SESSION, compartidas entre instancias, con la
+ *   configuración automática de Spring Session JDBC (spring.session.jdbc.*).
+ */
+@Configuration
+public class SesionesConfig {
+
+    @Configuration
+    @EnableSpringHttpSession
+    @ConditionalOnProperty(name = "app.sesiones.almacen", havingValue = "memoria", matchIfMissing = true)
+    static class SesionesEnMemoria {
+
+        // Cada sesión expira según su propio tiempo máximo de inactividad, contado desde la última vez que se
+        // guardó; así las sesiones expiradas se descartan sin una tarea de limpieza
+        private final Cache<String, Session> sesiones;
+
+        SesionesEnMemoria(@Value("${app.sesiones.maximo:10000}") long maximo) {
+            this.sesiones = Caffeine.newBuilder()
+                    .maximumSize(maximo)
+                    .expireAfter(new Expiry<String, Session>() {
+                        @Override
+                        public long expireAfterCreate(String id, Session sesion, long ahora) {
+                            return nanosDeInactividad(sesion);
+                        }
+
+                        @Override
+                        public long expireAfterUpdate(String id, Session sesion, long ahora, long restante) {
+                            return nanosDeInactividad(sesion);
+                        }
+
+                        @Override
+                        public long expireAfterRead(String id, Session sesion, long ahora, long restante) {
+                            return restante;
+                        }
+                    })
+                    .recordStats()
+                    .build();
+        }
+
+        @Bean
+        public MapSessionRepository sessionRepository(@Value("${spring.session.timeout:30m}") Duration timeout,
+                                                      MeterRegistry meterRegistry) {
+            CaffeineCacheMetrics.monitor(meterRegistry, sesiones, "sesionesHttp");
+            MapSessionRepository repositorio = new MapSessionRepository(sesiones.asMap());
+            repositorio.setDefaultMaxInactiveInterval(timeout != null ? timeout : Duration.ofSeconds(MapSession.DEFAULT_MAX_INACTIVE_INTERVAL_SECONDS));
+            return repositorio;
+        }
+
+        // Cantidad de sesiones guardadas, tras aplicar las expiraciones y descartes pendientes
+        long cantidadSesiones() {
+            sesiones.cleanUp();
+            return sesiones.estimatedSize();
+        }
+
+        // Un intervalo negativo significa que la sesión no expira por inactividad
+        private static long nanosDeInactividad(Session sesion) {
+            Duration inactividad = sesion.getMaxInactiveInterval();
+            return inactividad.isNegative() ? Long.MAX_VALUE : inactividad.toNanos();
+        }
+    }
+}
@@ -2,16 +2,16 @@ package com.universidad.registro.controller;
 
 // Spring Web y Spring Security
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 // Java Collections y Validaciones
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.util.HashSet;
 import java.util.List;
@@ -22,12 +22,19 @@ import java.util.stream.Collectors;
 import com.universidad.registro.dto.AuthDTO.JwtResponse;
 import com.universidad.registro.dto.AuthDTO.LoginRequest;
 import com.universidad.registro.dto.AuthDTO.MessageResponse;
+import com.universidad.registro.dto.AuthDTO.RefreshRequest;
 import com.universidad.registro.dto.AuthDTO.SignupRequest;
 import com.universidad.registro.model.Rol;
 import com.universidad.registro.model.Usuario;
-import com.universidad.registro.repository.RolRepository;
 import com.universidad.registro.repository.UsuarioRepository;
 import com.universidad.registro.security.JwtUtils;
+import com.universidad.registro.security.LimitadorAutenticacion;
+import com.universidad.registro.security.UsuarioPrincipal;
+import com.universidad.registro.service.RegistroRoles;
+import com.universidad.registro.service.UserDetailsServiceImpl;
+import com.universidad.registro.service.VerificacionLoginService;
+
+import io.jsonwebtoken.Claims;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -35,13 +42,13 @@ import com.universidad.registro.security.JwtUtils;
 public class AuthController {
 
     @Autowired
-    AuthenticationManager authenticationManager;
+    VerificacionLoginService verificacionLoginService;
 
     @Autowired
     UsuarioRepository usuarioRepository;
 
     @Autowired
-    RolRepository rolRepository;
+    RegistroRoles registroRoles;
 
     @Autowired
     PasswordEncoder encoder;
@@ -49,38 +56,86 @@ public class AuthController {
     @Autowired
     JwtUtils jwtUtils;
 
+    @Autowired
+    UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    LimitadorAutenticacion limitadorAutenticacion;
+
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        // Se limita la frecuencia antes de consultar el usuario o verificar la contraseña
+        limitadorAutenticacion.verificarLogin(request.getRemoteAddr(), loginRequest.getUsername());
+
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+        // La verificación BCrypt se ejecuta en el grupo de hilos acotado de inicio de sesión, no en el hilo de Tomcat
+        Authentication authentication = verificacionLoginService.autenticar(
+                loginRequest.getUsername(), loginRequest.getPassword());
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = jwtUtils.generateJwtToken(authentication);
 
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        // El usuario autenticado ya trae el ID y el email, no hace falta volver a consultarlo
+        UsuarioPrincipal userDetails = (UsuarioPrincipal) authentication.getPrincipal();
         List<String> roles = userDetails.getAuthorities().stream()
                 .map(item -> item.getAuthority())
                 .collect(Collectors.toList());
 
-        Usuario usuario = usuarioRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("Error: Usuario no encontrado."));
-
         return ResponseEntity.ok(new JwtResponse(jwt, "Bearer",
-                usuario.getId(),
+                userDetails.getId(),
                 userDetails.getUsername(),
-                usuario.getEmail(),
-                new HashSet<>(roles)));
+                userDetails.getEmail(),
+                new HashSet<>(roles),
+                jwtUtils.generarTokenDeRefresco(userDetails)));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody RefreshRequest refreshRequest) {
+        Claims claims = jwtUtils.verificarTokenDeRefresco(refreshRequest.getRefreshToken());
+        if (claims == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new MessageResponse("Error: Token de refresco inválido, expirado o revocado."));
+        }
+
+        // El usuario se vuelve a cargar para que el nuevo token refleje sus roles actuales y no se renueve a cuentas inactivas
+        UsuarioPrincipal userDetails = (UsuarioPrincipal) userDetailsService.loadUserByUsername(claims.getSubject());
+        if (!userDetails.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new MessageResponse("Error: La cuenta está inactiva."));
+        }
+
+        // Rotación: cada token de refresco se usa una sola vez. Revocar es atómico, así que entre solicitudes
+        // concurrentes con el mismo token solo la que lo revoca recibe tokens nuevos
+        if (!jwtUtils.revocarToken(refreshRequest.getRefreshToken())) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new MessageResponse("Error: Token de refresco inválido, expirado o revocado."));
+        }
+
+        Set<String> roles = userDetails.getAuthorities().stream()
+                .map(item -> item.getAuthority())
+                .collect(Collectors.toSet());
+
+        return ResponseEntity.ok(new JwtResponse(jwtUtils.generateJwtToken(userDetails), "Bearer",
+                userDetails.getId(),
+                userDetails.getUsername(),
+                userDetails.getEmail(),
+                roles,
+                jwtUtils.generarTokenDeRefresco(userDetails)));
     }
 
     @PostMapping("/signup")
-    public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
-        if (usuarioRepository.existsByUsername(signUpRequest.getUsername())) {
+    public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest, HttpServletRequest request) {
+        limitadorAutenticacion.verificarRegistro(request.getRemoteAddr());
+
+        // Unicidad del nombre de usuario y del email en una sola consulta
+        List<Object[]> coincidencias = usuarioRepository.findCoincidenciasUsernameOEmail(
+                signUpRequest.getUsername(), signUpRequest.getEmail());
+        if (coincidencias.stream().anyMatch(fila -> signUpRequest.getUsername().equals(fila[0]))) {
             return ResponseEntity.badRequest()
                     .body(new MessageResponse("Error: El nombre de usuario ya está en uso."));
         }
 
-        if (usuarioRepository.existsByEmail(signUpRequest.getEmail())) {
+        if (!coincidencias.isEmpty()) {
             return ResponseEntity.badRequest()
                     .body(new MessageResponse("Error: El email ya está en uso."));
         }
@@ -95,27 +150,20 @@ public class AuthController {
         Set<String> strRoles = signUpRequest.getRoles();
         Set<Rol> roles = new HashSet<>();
 
+        // Los roles se toman del registro cargado al iniciar, sin consultar la base de datos
         if (strRoles == null) {
-            Rol estudianteRol = rolRepository.findByNombre(Rol.NombreRol.ROL_ESTUDIANTE)
-                    .orElseThrow(() -> new RuntimeException("Error: Rol no encontrado."));
-            roles.add(estudianteRol);
+            roles.add(registroRoles.obtener(Rol.NombreRol.ROL_ESTUDIANTE));
         } else {
             strRoles.forEach(role -> {
                 switch (role) {
                     case "admin":
-                        Rol adminRol = rolRepository.findByNombre(Rol.NombreRol.ROL_ADMIN)
-                                .orElseThrow(() -> new RuntimeException("Error: Rol no encontrado."));
-                        roles.add(adminRol);
+                        roles.add(registroRoles.obtener(Rol.NombreRol.ROL_ADMIN));
                         break;
                     case "docente":
-                        Rol docRol = rolRepository.findByNombre(Rol.NombreRol.ROL_DOCENTE)
-                                .orElseThrow(() -> new RuntimeException("Error: Rol no encontrado."));
-                        roles.add(docRol);
+                        roles.add(registroRoles.obtener(Rol.NombreRol.ROL_DOCENTE));
                         break;
                     default:
-                        Rol estudianteRol = rolRepository.findByNombre(Rol.NombreRol.ROL_ESTUDIANTE)
-                                .orElseThrow(() -> new RuntimeException("Error: Rol no encontrado."));
-                        roles.add(estudianteRol);
+                        roles.add(registroRoles.obtener(Rol.NombreRol.ROL_ESTUDIANTE));
                 }
             });
         }
@@ -129,10 +177,8 @@ public class AuthController {
     @GetMapping("/session-info")
     public ResponseEntity<?> getSessionInfo() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth != null && auth.isAuthenticated() && !auth.getPrincipal().equals("anonymousUser")) {
-            UserDetails userDetails = (UserDetails) auth.getPrincipal();
-            Usuario usuario = usuarioRepository.findByUsername(userDetails.getUsername())
-                    .orElseThrow(() -> new RuntimeException("Error: Usuario no encontrado."));
+        if (auth != null && auth.isAuthenticated() && auth.getPrincipal() instanceof UsuarioPrincipal) {
+            UsuarioPrincipal userDetails = (UsuarioPrincipal) auth.getPrincipal();
 
             Set<String> roles = userDetails.getAuthorities().stream()
                     .map(item -> item.getAuthority())
@@ -140,17 +186,26 @@ public class AuthController {
 
             return ResponseEntity.ok(new JwtResponse(
                     null, "Bearer",
-                    usuario.getId(),
+                    userDetails.getId(),
                     userDetails.getUsername(),
-                    usuario.getEmail(),
-                    roles));
+                    userDetails.getEmail(),
+                    roles,
+                    null));
         }
 
         return ResponseEntity.ok(new MessageResponse("No hay sesión activa"));
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<?> logoutUser() {
+    public ResponseEntity<?> logoutUser(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                        @RequestBody(required = false) RefreshRequest refreshRequest) {
+        // Revoca el token de acceso y, si se envía, el de refresco, para que no puedan volver a usarse
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            jwtUtils.revocarToken(authorization.substring(7));
+        }
+        if (refreshRequest != null && refreshRequest.getRefreshToken() != null) {
+            jwtUtils.revocarToken(refreshRequest.getRefreshToken());
+        }
         SecurityContextHolder.clearContext();
         return ResponseEntity.ok(new MessageResponse("Sesión cerrada exitosamente!"));
     }
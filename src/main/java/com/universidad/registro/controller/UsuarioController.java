@@ -1,7 +1,11 @@
 package com.universidad.registro.controller;
 
+import com.universidad.dto.PaginaDTO;
+import com.universidad.registro.dto.UsuarioResumenDTO;
 import com.universidad.registro.model.Usuario;
 import com.universidad.registro.repository.UsuarioRepository;
+import com.universidad.registro.service.UsuarioActivoCache;
+import com.universidad.registro.service.UsuarioListadoService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -20,6 +24,12 @@ public class UsuarioController {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private UsuarioListadoService usuarioListadoService;
+
+    @Autowired
+    private UsuarioActivoCache usuarioActivoCache;
+
     // ✅ CREATE
     @PostMapping("/create")
     @PreAuthorize("hasRole('ADMIN')")
@@ -36,6 +46,15 @@ public class UsuarioController {
         return ResponseEntity.ok(users);
     }
 
+    // ✅ READ - Listar por páginas (datos resumidos, sin contraseñas)
+    @GetMapping("/pagina")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PaginaDTO<UsuarioResumenDTO>> getUsuariosPaginados(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamano) {
+        return ResponseEntity.ok(usuarioListadoService.obtenerPagina(cursor, tamano));
+    }
+
     // ✅ READ - Buscar por ID
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
@@ -59,11 +78,16 @@ public class UsuarioController {
                     .body("Usuario no encontrado");
         }
         Usuario usuario = opt.get();
+        boolean cambiaActivo = usuario.isActivo() != updatedUsuario.isActivo();
         usuario.setNombre(updatedUsuario.getNombre());
         usuario.setApellido(updatedUsuario.getApellido());
         usuario.setEmail(updatedUsuario.getEmail());
         usuario.setActivo(updatedUsuario.isActivo());
         Usuario saved = usuarioRepository.save(usuario);
+        if (cambiaActivo) {
+            // Las solicitudes con JWT ven el cambio ya, sin esperar el TTL de la caché
+            usuarioActivoCache.invalidar(saved.getUsername());
+        }
         return ResponseEntity.ok(saved);
     }
 
@@ -79,6 +103,7 @@ public class UsuarioController {
         Usuario usuario = opt.get();
         usuario.setActivo(false);
         Usuario saved = usuarioRepository.save(usuario);
+        usuarioActivoCache.invalidar(saved.getUsername()); // La baja rige ya para los JWT emitidos
         return ResponseEntity.ok(saved);
     }
 }
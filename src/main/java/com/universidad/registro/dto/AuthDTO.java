@@ -55,6 +55,15 @@ public class AuthDTO {
         private String username;
         private String email;
         private Set<String> roles;
+        private String refreshToken;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RefreshRequest {
+        @NotBlank
+        private String refreshToken;
     }
 
     @Data
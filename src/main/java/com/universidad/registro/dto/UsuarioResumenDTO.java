@@ -0,0 +1,23 @@
+package com.universidad.registro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * Datos de un usuario para los listados de administración, sin la contraseña ni el resto de la entidad.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UsuarioResumenDTO {
+    private Long id;
+    private String username;
+    private String email;
+    private boolean activo;
+    private Set<String> roles;
+}
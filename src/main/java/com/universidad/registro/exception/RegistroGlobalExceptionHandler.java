@@ -1,5 +1,9 @@
 package com.universidad.registro.exception;
 
+import com.universidad.registro.dto.AuthDTO.MessageResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -9,7 +13,13 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.util.HashMap;
 import java.util.Map;
 
-@RestControllerAdvice(value = "registroGlobalExceptionHandler")
+/**
+ * Maneja las excepciones de los controladores de registro y autenticación (com.universidad.registro.*).
+ * Tiene prioridad sobre ValidationGlobalExceptionHandler para esos controladores; las excepciones que no
+ * maneja aquí siguen a ese manejador o, las de Spring Security (401/403), a sus filtros.
+ */
+@RestControllerAdvice(basePackages = "com.universidad.registro")
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class RegistroGlobalExceptionHandler {
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -20,8 +30,24 @@ public class RegistroGlobalExceptionHandler {
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
 
-    @ExceptionHandler(Exception.class)
-    public ResponseEntity<String> handleGenericException(Exception ex) {
-        return new ResponseEntity<>("Error: " + ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+    @ExceptionHandler(DemasiadasSolicitudesException.class)
+    public ResponseEntity<MessageResponse> handleDemasiadasSolicitudes(DemasiadasSolicitudesException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getReintentarEnSegundos()))
+                .body(new MessageResponse("Error: " + ex.getMessage()));
+    }
+
+    // Excepción para solicitudes que se rechazan por saturación; el cliente puede reintentar tras el tiempo indicado
+    public static class DemasiadasSolicitudesException extends RuntimeException {
+        private final long reintentarEnSegundos;
+
+        public DemasiadasSolicitudesException(String mensaje, long reintentarEnSegundos) {
+            super(mensaje);
+            this.reintentarEnSegundos = reintentarEnSegundos;
+        }
+
+        public long getReintentarEnSegundos() {
+            return reintentarEnSegundos;
+        }
     }
 }
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.Builder;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -33,6 +34,7 @@ public class Usuario {
     @NotBlank(message = "La contraseña es obligatoria.")
     @Size(min = 6, message = "La contraseña debe tener al menos 6 caracteres.")
     @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY) // Se recibe al crear, pero nunca se serializa el hash en las respuestas
     private String password;
 
     @NotBlank(message = "El email es obligatorio.")
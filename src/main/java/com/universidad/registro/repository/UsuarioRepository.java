@@ -2,10 +2,15 @@ package com.universidad.registro.repository;
 
 
 import com.universidad.registro.model.Usuario;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
@@ -14,4 +19,21 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     Optional<Usuario> findByUsername(String username);
     Boolean existsByUsername(String username);
     Boolean existsByEmail(String email);
+
+    // Nombre de usuario y email de los usuarios que ya usan alguno de los dos valores (a lo sumo dos filas),
+    // para comprobar ambas unicidades con una sola consulta
+    @Query("SELECT u.username, u.email FROM Usuario u WHERE u.username = :username OR u.email = :email")
+    List<Object[]> findCoincidenciasUsernameOEmail(@Param("username") String username, @Param("email") String email);
+
+    // Página de usuarios por keyset (id, username, email, activo), sin cargar las entidades ni sus roles
+    @Query("SELECT u.id, u.username, u.email, u.activo FROM Usuario u WHERE u.id > :ultimoId ORDER BY u.id")
+    List<Object[]> findResumenByIdGreaterThan(@Param("ultimoId") Long ultimoId, Limit limit);
+
+    // Pares (id de usuario, nombre de rol) de los usuarios indicados
+    @Query("SELECT u.id, r.nombre FROM Usuario u JOIN u.roles r WHERE u.id IN :ids")
+    List<Object[]> findNombresRolesByUsuarioIds(@Param("ids") Collection<Long> ids);
+
+    // Solo el indicador de cuenta activa, sin cargar el usuario ni sus roles
+    @Query("SELECT u.activo FROM Usuario u WHERE u.username = :username")
+    Optional<Boolean> findActivoByUsername(@Param("username") String username);
 }
@@ -4,6 +4,7 @@ package com.universidad.registro.security;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -14,6 +15,9 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 
 import com.universidad.registro.service.UserDetailsServiceImpl;
+import com.universidad.registro.service.UsuarioActivoCache;
+
+import io.jsonwebtoken.Claims;
 
 
 import jakarta.servlet.FilterChain;
@@ -36,6 +40,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    // Verifica con una caché de TTL corto que la cuenta siga activa cuando el usuario se arma desde el token
+    @Autowired
+    private UsuarioActivoCache usuarioActivoCache;
+
+    // Si está activo, la autenticación se construye con los roles incluidos en el token,
+    // sin cargar el usuario desde la base de datos en cada solicitud
+    @Value("${app.jwt.autorizacion-sin-estado:true}")
+    private boolean autorizacionSinEstado;
+
+    // Si está activo, los tokens de cuentas dadas de baja se rechazan (con el retraso del TTL de la caché)
+    @Value("${app.jwt.verificacion-activo.habilitada:true}")
+    private boolean verificarActivo;
+
     // Logger para registrar información y errores
     // Utiliza SLF4J para registrar mensajes de información y errors
     // en la consola o en un archivo de registro, según la configuración del logger
@@ -49,13 +66,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             // Extrae el token JWT del encabezado de autorización de la solicitud HTTP
             // y lo valida utilizando el método parseJwt
+            // El token se verifica una sola vez y el nombre de usuario se toma de los claims ya verificados
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
+            Claims claims = jwt != null ? jwtUtils.verificarTokenDeAcceso(jwt) : null;
+            if (claims != null) {
+                String username = claims.getSubject();
 
-                // Si el token es válido, carga los detalles del usuario utilizando el nombre de usuario extraído del token
+                // Si el token es válido, obtiene los detalles del usuario de los claims del token (o, si el token no los
+                // incluye o el modo sin estado está desactivado, los carga utilizando el nombre de usuario extraído del token)
                 // y establece la autenticación del usuario en el contexto de seguridad de Spring
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                UserDetails userDetails;
+                if (autorizacionSinEstado && jwtUtils.contieneAutorizaciones(claims)) {
+                    if (verificarActivo && !usuarioActivoCache.estaActivo(username)) {
+                        logger.warn("Token de una cuenta inactiva o inexistente: {}", username);
+                        filterChain.doFilter(request, response);
+                        return;
+                    }
+                    userDetails = jwtUtils.getUsuarioFromClaims(claims);
+                } else {
+                    userDetails = userDetailsService.loadUserByUsername(username);
+                }
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
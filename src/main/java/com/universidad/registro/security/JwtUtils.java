@@ -1,17 +1,34 @@
 package com.universidad.registro.security;
 
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import io.jsonwebtoken.security.SignatureException;
 
 
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 
 @Component
@@ -31,37 +48,188 @@ public class JwtUtils {
     @Value("${app.jwtExpirationMs}")
     private int jwtExpirationMs;
 
+    // Cantidad máxima de tokens ya verificados que se recuerdan para no volver a verificar su firma
+    @Value("${app.jwt.cache.tamano-maximo:10000}")
+    private long tamanoMaximoCache;
+
+    // Nombres de los claims con los datos del usuario que se incluyen en el token
+    public static final String CLAIM_ID = "id";
+    public static final String CLAIM_EMAIL = "email";
+    public static final String CLAIM_ROLES = "roles";
+    // Distingue los tokens de acceso de los de refresco, que solo sirven para obtener un nuevo token de acceso
+    public static final String CLAIM_TIPO = "tipo";
+    public static final String TIPO_ACCESO = "acceso";
+    public static final String TIPO_REFRESCO = "refresco";
+
+    // Duración de los tokens de refresco en milisegundos
+    @Value("${app.jwt.refresh-expiracion-ms:604800000}")
+    private long refreshExpirationMs;
+
+    @Autowired
+    private RevocacionTokens revocacionTokens;
+
+    // La clave y el parser se construyen una sola vez; ambos son inmutables y seguros entre hilos
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    // Claims de los tokens verificados recientemente, indexados por el hash SHA-256 del token.
+    // Cada entrada expira a la vez que su token, por lo que nunca se acepta un token vencido desde la caché
+    private Cache<String, Claims> tokensVerificados;
+
+    @PostConstruct
+    void init() {
+        signingKey = new SecretKeySpec(jwtSecret.getBytes(), SignatureAlgorithm.HS512.getJcaName());
+        jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        tokensVerificados = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximoCache)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        if (claims.getExpiration() == null) {
+                            return 0; // Sin fecha de expiración no se puede acotar la vida de la entrada: no se guarda
+                        }
+                        long restanteMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(restanteMs, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, claims, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     // Este método se utiliza para extraer el token JWT del encabezado de autorización de la solicitud HTTP
     // El token JWT se espera que esté en el formato "Bearer <token>"
     // Si el encabezado de autorización no está presente o no tiene el formato correcto, se devuelve null
     public String generateJwtToken(Authentication authentication) {
-        UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
+        return generateJwtToken((UserDetails) authentication.getPrincipal());
+    }
 
+    // Genera un token de acceso de corta duración para el usuario indicado
+    public String generateJwtToken(UserDetails userPrincipal) {
         // Se utiliza para generar un nuevo token JWT utilizando la información del usuario autenticado
         // Se establece el sujeto del token como el nombre de usuario del usuario autenticado
-        return Jwts.builder()
+        // Los roles, el ID y el email viajan en el token para que el filtro pueda autenticar sin consultar la base de datos
+        JwtBuilder builder = Jwts.builder()
+                .setId(UUID.randomUUID().toString()) // ID del token, usado para revocarlo
                 .setSubject((userPrincipal.getUsername()))
+                .claim(CLAIM_TIPO, TIPO_ACCESO)
+                .claim(CLAIM_ROLES, userPrincipal.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .collect(Collectors.toList()));
+        if (userPrincipal instanceof UsuarioPrincipal usuario) {
+            builder.claim(CLAIM_ID, usuario.getId()).claim(CLAIM_EMAIL, usuario.getEmail());
+        }
+        return builder
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(new javax.crypto.spec.SecretKeySpec(jwtSecret.getBytes(), SignatureAlgorithm.HS512.getJcaName()), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
+                .compact();
+    }
+
+    // Genera un token de refresco: solo identifica al usuario y permite pedir un nuevo token de acceso
+    public String generarTokenDeRefresco(UserDetails userPrincipal) {
+        Date ahora = new Date();
+        return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject(userPrincipal.getUsername())
+                .claim(CLAIM_TIPO, TIPO_REFRESCO)
+                .setIssuedAt(ahora)
+                .setExpiration(new Date(ahora.getTime() + refreshExpirationMs))
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
+    // Verifica un token de acceso: firma y expiración, que no sea un token de refresco y que no haya sido revocado
+    public Claims verificarTokenDeAcceso(String authToken) {
+        Claims claims = verificarToken(authToken);
+        // Los tokens emitidos antes de incluir el tipo se aceptan como tokens de acceso
+        if (claims == null || TIPO_REFRESCO.equals(claims.get(CLAIM_TIPO)) || revocacionTokens.estaRevocado(claims.getId())) {
+            return null;
+        }
+        return claims;
+    }
+
+    // Verifica un token de refresco: firma y expiración, tipo de token y que no haya sido revocado
+    public Claims verificarTokenDeRefresco(String refreshToken) {
+        Claims claims = verificarToken(refreshToken);
+        if (claims == null || !TIPO_REFRESCO.equals(claims.get(CLAIM_TIPO)) || revocacionTokens.estaRevocado(claims.getId())) {
+            return null;
+        }
+        return claims;
+    }
+
+    // Revoca el token hasta su expiración; los tokens inválidos se ignoran.
+    // Devuelve true solo si esta llamada lo revocó (no estaba revocado ya)
+    public boolean revocarToken(String token) {
+        Claims claims = verificarToken(token);
+        if (claims != null && claims.getExpiration() != null) {
+            return revocacionTokens.revocar(claims.getId(), claims.getExpiration().getTime());
+        }
+        return false;
+    }
+
     // Este método se utiliza para extraer el token JWT del encabezado de autorización de la solicitud HTTP
     // El token JWT se espera que esté en el formato "Bearer <token>"
     // Si el encabezado de autorización no está presente o no tiene el formato correcto, se devuelve null
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(jwtSecret.getBytes()).build().parseClaimsJws(token).getBody().getSubject();
+        return jwtParser.parseClaimsJws(token).getBody().getSubject();
     }
 
     
+    // Indica si el token incluye los datos necesarios para autenticar sin cargar el usuario
+    // (los tokens emitidos antes de incluir estos claims no los tienen)
+    public boolean contieneAutorizaciones(Claims claims) {
+        return claims.get(CLAIM_ROLES) instanceof List && claims.get(CLAIM_ID) instanceof Number;
+    }
+
+    // Construye el usuario autenticado a partir de los claims de un token ya verificado
+    public UsuarioPrincipal getUsuarioFromClaims(Claims claims) {
+        List<SimpleGrantedAuthority> authorities = ((List<?>) claims.get(CLAIM_ROLES)).stream()
+                .map(rol -> new SimpleGrantedAuthority(String.valueOf(rol)))
+                .collect(Collectors.toList());
+        Long id = ((Number) claims.get(CLAIM_ID)).longValue();
+        // La contraseña no viaja en el token y no se necesita una vez autenticado
+        return new UsuarioPrincipal(id, claims.getSubject(), claims.get(CLAIM_EMAIL, String.class), "", true, authorities);
+    }
+
     public boolean validateJwtToken(String authToken) { // Este método se utiliza para validar el token JWT
+        return verificarTokenDeAcceso(authToken) != null;
+    }
+
+    // Verifica el token una sola vez y devuelve sus claims, o null si no es válido.
+    // Si el mismo token ya se verificó y aún no ha expirado, se devuelven los claims guardados sin volver a
+    // decodificarlo ni recalcular su firma
+    public Claims verificarToken(String authToken) {
+        if (authToken == null || authToken.isBlank()) {
+            logger.error("JWT claims string is empty");
+            return null;
+        }
+        String clave = hashToken(authToken);
+        Claims claims = tokensVerificados.getIfPresent(clave);
+        if (claims != null) {
+            return claims;
+        }
+        claims = parsearToken(authToken);
+        if (claims != null) {
+            tokensVerificados.put(clave, claims);
+        }
+        return claims;
+    }
+
+    private Claims parsearToken(String authToken) {
         // Se utiliza para verificar la firma del token y asegurarse de que no haya sido modificado
         // Se verifica si el token ha expirado y si es válido
-        // Si el token es válido, se devuelve true; de lo contrario, se devuelve false
+        // Si el token es válido, se devuelven sus claims; de lo contrario, se devuelve null
         try {
-            Jwts.parserBuilder().setSigningKey(jwtSecret.getBytes()).build().parseClaimsJws(authToken);
-            return true;
+            return jwtParser.parseClaimsJws(authToken).getBody();
         } catch (SignatureException e) {
             logger.error("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
@@ -75,6 +243,16 @@ public class JwtUtils {
         }
 
 
-        return false;
+        return null;
+    }
+
+    // La caché se indexa por el hash del token para no retener en memoria el token completo
+    private static String hashToken(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no está disponible", e);
+        }
     }
 }
@@ -0,0 +1,130 @@
+package com.universidad.registro.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.universidad.registro.exception.RegistroGlobalExceptionHandler.DemasiadasSolicitudesException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Limita la frecuencia de inicios de sesión y registros con cubetas de tokens por IP de origen
+ * y por nombre de usuario, para que una ráfaga de intentos no se convierta en carga de BCrypt
+ * y de consultas a la tabla usuarios.
+ * Cada cubeta se actualiza sin bloqueos (compare-and-set sobre un estado inmutable). Las cubetas
+ * sin uso durante un tiempo se descartan y su cantidad está acotada, por lo que la memoria no crece
+ * con el número de claves distintas.
+ */
+@Component
+public class LimitadorAutenticacion {
+
+    private final LimitePorClave loginPorIp;
+    private final LimitePorClave loginPorUsuario;
+    private final LimitePorClave registroPorIp;
+
+    public LimitadorAutenticacion(MeterRegistry meterRegistry,
+                                  @Value("${app.limite.login.ip.capacidad:20}") int capacidadLoginIp,
+                                  @Value("${app.limite.login.ip.por-minuto:20}") int porMinutoLoginIp,
+                                  @Value("${app.limite.login.usuario.capacidad:5}") int capacidadLoginUsuario,
+                                  @Value("${app.limite.login.usuario.por-minuto:5}") int porMinutoLoginUsuario,
+                                  @Value("${app.limite.registro.ip.capacidad:5}") int capacidadRegistroIp,
+                                  @Value("${app.limite.registro.ip.por-minuto:5}") int porMinutoRegistroIp,
+                                  @Value("${app.limite.inactividad:10m}") Duration inactividad,
+                                  @Value("${app.limite.claves-maximas:100000}") long clavesMaximas) {
+        this.loginPorIp = new LimitePorClave(capacidadLoginIp, porMinutoLoginIp, inactividad, clavesMaximas,
+                contador(meterRegistry, "login", "ip"));
+        this.loginPorUsuario = new LimitePorClave(capacidadLoginUsuario, porMinutoLoginUsuario, inactividad, clavesMaximas,
+                contador(meterRegistry, "login", "usuario"));
+        this.registroPorIp = new LimitePorClave(capacidadRegistroIp, porMinutoRegistroIp, inactividad, clavesMaximas,
+                contador(meterRegistry, "signup", "ip"));
+    }
+
+    /**
+     * Consume un intento de inicio de sesión para la IP y el usuario indicados.
+     * @throws DemasiadasSolicitudesException si alguno de los dos superó su límite
+     */
+    public void verificarLogin(String ip, String username) {
+        loginPorIp.consumir(ip);
+        if (username != null) {
+            loginPorUsuario.consumir(username.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * Consume un intento de registro para la IP indicada.
+     * @throws DemasiadasSolicitudesException si la IP superó su límite
+     */
+    public void verificarRegistro(String ip) {
+        registroPorIp.consumir(ip);
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String endpoint, String clave) {
+        return Counter.builder("auth.limite.rechazados")
+                .description("Solicitudes de autenticación rechazadas por límite de frecuencia")
+                .tag("endpoint", endpoint)
+                .tag("clave", clave)
+                .register(meterRegistry);
+    }
+
+    // Conjunto de cubetas con el mismo límite, una por clave
+    private static final class LimitePorClave {
+        private final double capacidad;
+        private final double tokensPorNano;
+        private final Cache<String, CubetaTokens> cubetas;
+        private final Counter rechazados;
+
+        LimitePorClave(int capacidad, int porMinuto, Duration inactividad, long clavesMaximas, Counter rechazados) {
+            this.capacidad = capacidad;
+            this.tokensPorNano = porMinuto / (double) TimeUnit.MINUTES.toNanos(1);
+            this.cubetas = Caffeine.newBuilder()
+                    .expireAfterAccess(inactividad)
+                    .maximumSize(clavesMaximas)
+                    .build();
+            this.rechazados = rechazados;
+        }
+
+        void consumir(String clave) {
+            CubetaTokens cubeta = cubetas.get(clave, k -> new CubetaTokens(capacidad));
+            long esperaNanos = cubeta.intentarConsumir(capacidad, tokensPorNano);
+            if (esperaNanos > 0) {
+                rechazados.increment();
+                long segundos = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos) + 1);
+                throw new DemasiadasSolicitudesException(
+                        "Demasiados intentos. Intente nuevamente en " + segundos + " segundos.", segundos);
+            }
+        }
+    }
+
+    // Cubeta de tokens sin bloqueos: el estado (tokens disponibles e instante de la última recarga) se reemplaza con CAS
+    private static final class CubetaTokens {
+        private record Estado(double tokens, long instanteNanos) {
+        }
+
+        private final AtomicReference<Estado> estado;
+
+        CubetaTokens(double capacidad) {
+            this.estado = new AtomicReference<>(new Estado(capacidad, System.nanoTime()));
+        }
+
+        // Devuelve 0 si se consumió un token, o los nanosegundos que faltan para que haya uno disponible
+        long intentarConsumir(double capacidad, double tokensPorNano) {
+            while (true) {
+                Estado actual = estado.get();
+                long ahora = System.nanoTime();
+                double tokens = Math.min(capacidad, actual.tokens() + (ahora - actual.instanteNanos()) * tokensPorNano);
+                if (tokens < 1) {
+                    return tokensPorNano > 0 ? (long) Math.ceil((1 - tokens) / tokensPorNano) : Long.MAX_VALUE;
+                }
+                if (estado.compareAndSet(actual, new Estado(tokens - 1, ahora))) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
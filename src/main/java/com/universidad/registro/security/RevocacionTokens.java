@@ -0,0 +1,123 @@
+package com.universidad.registro.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Registro en memoria de los tokens revocados (cierre de sesión y rotación de tokens de refresco),
+ * indexado por el ID del token (claim "jti").
+ * Un filtro de Bloom delante del mapa responde sin tocar el mapa para la inmensa mayoría de los tokens,
+ * que no están revocados; solo ante un posible positivo se consulta el mapa. Cada token revocado
+ * se recuerda hasta su expiración, momento a partir del cual ya no puede usarse y se descarta.
+ * La revocación es local a cada instancia de la aplicación.
+ */
+@Component
+public class RevocacionTokens {
+
+    private static final int FUNCIONES_HASH = 4;
+
+    private final int bitsFiltro;
+    // ID del token revocado -> instante de expiración del token (ms)
+    private final Map<String, Long> revocados = new ConcurrentHashMap<>();
+    private volatile FiltroBloom filtro;
+
+    public RevocacionTokens(@Value("${app.jwt.revocacion.bits-filtro:1048576}") int bitsFiltro) {
+        this.bitsFiltro = bitsFiltro;
+        this.filtro = new FiltroBloom(bitsFiltro);
+    }
+
+    /**
+     * Revoca un token hasta su expiración.
+     * @param id claim "jti" del token
+     * @param expiracionMs instante de expiración del token en milisegundos
+     * @return true si esta llamada revocó el token; false si ya estaba revocado, expirado o no tiene ID.
+     *         Entre varias llamadas concurrentes con el mismo token, solo una obtiene true.
+     */
+    public synchronized boolean revocar(String id, long expiracionMs) {
+        if (id == null || expiracionMs <= System.currentTimeMillis()) {
+            return false; // Un token expirado ya es rechazado al verificarlo
+        }
+        if (revocados.putIfAbsent(id, expiracionMs) != null) {
+            return false;
+        }
+        filtro.agregar(id);
+        return true;
+    }
+
+    /**
+     * Indica si el token fue revocado. Sin bloqueos ni consultas a la base de datos.
+     */
+    public boolean estaRevocado(String id) {
+        if (id == null || !filtro.puedeContener(id)) {
+            return false;
+        }
+        Long expiracion = revocados.get(id);
+        return expiracion != null && expiracion > System.currentTimeMillis();
+    }
+
+    /**
+     * Descarta los tokens ya expirados y reconstruye el filtro de Bloom para que no se llene de bits obsoletos.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.revocacion.intervalo-limpieza-ms:60000}")
+    public synchronized void limpiarExpirados() {
+        long ahora = System.currentTimeMillis();
+        if (!revocados.values().removeIf(expiracion -> expiracion <= ahora)) {
+            return;
+        }
+        FiltroBloom nuevo = new FiltroBloom(bitsFiltro);
+        revocados.keySet().forEach(nuevo::agregar);
+        filtro = nuevo;
+    }
+
+    public int cantidadRevocados() {
+        return revocados.size();
+    }
+
+    // Filtro de Bloom de tamaño fijo; admite escrituras concurrentes con lecturas sin bloqueos
+    private static final class FiltroBloom {
+        private final AtomicLongArray bits;
+        private final int tamano;
+
+        FiltroBloom(int tamano) {
+            this.tamano = Math.max(64, tamano);
+            this.bits = new AtomicLongArray((this.tamano + 63) / 64);
+        }
+
+        void agregar(String valor) {
+            int h1 = valor.hashCode();
+            int h2 = mezclar(h1);
+            for (int i = 0; i < FUNCIONES_HASH; i++) {
+                int bit = Math.floorMod(h1 + i * h2, tamano);
+                long mascara = 1L << (bit & 63);
+                bits.getAndAccumulate(bit >>> 6, mascara, (actual, m) -> actual | m);
+            }
+        }
+
+        boolean puedeContener(String valor) {
+            int h1 = valor.hashCode();
+            int h2 = mezclar(h1);
+            for (int i = 0; i < FUNCIONES_HASH; i++) {
+                int bit = Math.floorMod(h1 + i * h2, tamano);
+                if ((bits.get(bit >>> 6) & (1L << (bit & 63))) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Segundo hash derivado del primero (doble hashing de Kirsch-Mitzenmacher)
+        private static int mezclar(int h) {
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            h *= 0xc2b2ae35;
+            h ^= h >>> 16;
+            return h | 1;
+        }
+    }
+}
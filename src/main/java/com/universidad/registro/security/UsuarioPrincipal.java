@@ -0,0 +1,32 @@
+package com.universidad.registro.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Usuario autenticado con los datos que la API necesita además de los de Spring Security (ID y email).
+ * Se construye al cargar el usuario desde la base de datos o directamente desde los claims de un JWT,
+ * de modo que los controladores no tienen que volver a consultar el usuario para obtenerlos.
+ */
+public class UsuarioPrincipal extends User {
+
+    private final Long id;
+    private final String email;
+
+    public UsuarioPrincipal(Long id, String username, String email, String password, boolean activo,
+                            Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, activo, true, true, true, authorities);
+        this.id = id;
+        this.email = email;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
@@ -0,0 +1,50 @@
+package com.universidad.registro.service;
+
+import com.universidad.registro.model.Rol;
+import com.universidad.registro.repository.RolRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Roles del sistema indexados por nombre.
+ * Los roles son un conjunto fijo (Rol.NombreRol) que DatabaseInitializer crea al iniciar la aplicación,
+ * por lo que se cargan una sola vez y el registro de usuarios no necesita consultarlos.
+ */
+@Component
+public class RegistroRoles {
+
+    private final RolRepository rolRepository;
+    private volatile Map<Rol.NombreRol, Rol> roles = new EnumMap<>(Rol.NombreRol.class);
+
+    public RegistroRoles(RolRepository rolRepository) {
+        this.rolRepository = rolRepository;
+    }
+
+    /**
+     * Carga (o vuelve a cargar) todos los roles desde la base de datos.
+     */
+    public synchronized void cargar() {
+        Map<Rol.NombreRol, Rol> cargados = new EnumMap<>(Rol.NombreRol.class);
+        rolRepository.findAll().forEach(rol -> cargados.put(rol.getNombre(), rol));
+        roles = cargados;
+    }
+
+    /**
+     * Devuelve el rol con el nombre indicado.
+     * @throws RuntimeException si el rol no existe en la base de datos
+     */
+    public Rol obtener(Rol.NombreRol nombre) {
+        Rol rol = roles.get(nombre);
+        if (rol == null) {
+            // Solo ocurre si se consulta antes de la carga inicial o si el rol se creó después
+            cargar();
+            rol = roles.get(nombre);
+        }
+        if (rol == null) {
+            throw new RuntimeException("Error: Rol no encontrado.");
+        }
+        return rol;
+    }
+}
@@ -3,9 +3,9 @@ package com.universidad.registro.service;
 
 import com.universidad.registro.model.Usuario;
 import com.universidad.registro.repository.UsuarioRepository;
+import com.universidad.registro.security.UsuarioPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -44,8 +44,8 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 .collect(Collectors.toList());
 
         // Crear un objeto User de Spring Security con los detalles del usuario
-        // y sus roles (authorities)
-        return new User(usuario.getUsername(), usuario.getPassword(), usuario.isActivo(),
-                true, true, true, authorities);
+        // y sus roles (authorities), junto con el ID y el email para no volver a consultarlos
+        return new UsuarioPrincipal(usuario.getId(), usuario.getUsername(), usuario.getEmail(),
+                usuario.getPassword(), usuario.isActivo(), authorities);
     }
 }
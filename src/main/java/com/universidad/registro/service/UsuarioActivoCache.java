@@ -0,0 +1,44 @@
+package com.universidad.registro.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.universidad.registro.repository.UsuarioRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Recuerda durante un tiempo corto si una cuenta sigue activa.
+ * Cuando la autenticación se arma desde los claims del JWT, esta caché permite rechazar
+ * cuentas dadas de baja sin consultar la base de datos en cada solicitud: una baja
+ * se aplica a lo sumo tras el TTL configurado.
+ */
+@Component
+public class UsuarioActivoCache {
+
+    private final LoadingCache<String, Boolean> activos;
+
+    public UsuarioActivoCache(UsuarioRepository usuarioRepository,
+                              @Value("${app.jwt.verificacion-activo.ttl:60s}") Duration ttl,
+                              @Value("${app.jwt.verificacion-activo.tamano-maximo:10000}") long tamanoMaximo) {
+        this.activos = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximo)
+                .expireAfterWrite(ttl)
+                .build(username -> usuarioRepository.findActivoByUsername(username).orElse(false));
+    }
+
+    /**
+     * Indica si el usuario existe y está activo.
+     */
+    public boolean estaActivo(String username) {
+        return Boolean.TRUE.equals(activos.get(username));
+    }
+
+    /**
+     * Descarta el estado recordado de un usuario, por ejemplo tras darlo de baja.
+     */
+    public void invalidar(String username) {
+        activos.invalidate(username);
+    }
+}
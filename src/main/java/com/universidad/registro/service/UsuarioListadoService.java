@@ -0,0 +1,70 @@
+package com.universidad.registro.service;
+
+import com.universidad.dto.PaginaDTO;
+import com.universidad.registro.dto.UsuarioResumenDTO;
+import com.universidad.registro.repository.UsuarioRepository;
+import com.universidad.util.Paginacion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Listado paginado de usuarios para administración.
+ * Cada página cuesta dos consultas sin importar su tamaño: los datos básicos de los usuarios
+ * (sin cargar las entidades) y los nombres de los roles de todos ellos.
+ */
+@Service
+public class UsuarioListadoService {
+
+    private final UsuarioRepository usuarioRepository;
+
+    @Value("${app.paginacion.tamano-por-defecto:50}")
+    private int tamanoPaginaPorDefecto;
+
+    @Value("${app.paginacion.tamano-maximo:500}")
+    private int tamanoPaginaMaximo;
+
+    public UsuarioListadoService(UsuarioRepository usuarioRepository) {
+        this.usuarioRepository = usuarioRepository;
+    }
+
+    /**
+     * Obtiene una página de usuarios ordenados por ID.
+     * @param cursor cursor devuelto por la página anterior (null para la primera)
+     * @param tamano cantidad de usuarios solicitada (null para el tamaño por defecto)
+     * @throws IllegalArgumentException si el cursor o el tamaño no son válidos
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<UsuarioResumenDTO> obtenerPagina(String cursor, Integer tamano) {
+        int tamanoPagina = Paginacion.tamanoPagina(tamano, tamanoPaginaPorDefecto, tamanoPaginaMaximo);
+        long ultimoId = Paginacion.decodificarId(cursor);
+
+        List<UsuarioResumenDTO> filas = usuarioRepository.findResumenByIdGreaterThan(ultimoId, Limit.of(tamanoPagina + 1))
+                .stream()
+                .map(fila -> UsuarioResumenDTO.builder()
+                        .id(((Number) fila[0]).longValue())
+                        .username((String) fila[1])
+                        .email((String) fila[2])
+                        .activo((Boolean) fila[3])
+                        .roles(new TreeSet<>())
+                        .build())
+                .collect(Collectors.toList());
+
+        if (!filas.isEmpty()) {
+            // Los roles de toda la página se leen con una sola consulta
+            Map<Long, UsuarioResumenDTO> porId = new HashMap<>();
+            filas.forEach(usuario -> porId.put(usuario.getId(), usuario));
+            usuarioRepository.findNombresRolesByUsuarioIds(porId.keySet())
+                    .forEach(fila -> porId.get(((Number) fila[0]).longValue()).getRoles().add(String.valueOf(fila[1])));
+        }
+
+        return Paginacion.armarPagina(filas, tamanoPagina, usuario -> Paginacion.codificarCursor(usuario.getId()));
+    }
+}
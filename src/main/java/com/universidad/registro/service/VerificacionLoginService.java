@@ -0,0 +1,123 @@
+package com.universidad.registro.service;
+
+import com.universidad.registro.exception.RegistroGlobalExceptionHandler.DemasiadasSolicitudesException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifica las credenciales de inicio de sesión en un grupo de hilos propio y acotado.
+ * La comprobación BCrypt consume mucha CPU; ejecutándola aquí, una avalancha de inicios de sesión
+ * solo puede ocupar los hilos de este grupo y su cola, en lugar de todos los hilos de Tomcat.
+ * Si la cola está llena el inicio de sesión se rechaza de inmediato con 429 y Retry-After.
+ */
+@Service
+public class VerificacionLoginService {
+
+    private final AuthenticationManager authenticationManager;
+    private final ThreadPoolExecutor executor;
+    private final Timer tiempoVerificacion;
+    private final Counter rechazados;
+    private final long tiempoMaximoEsperaMs;
+    private final long reintentarEnSegundos;
+
+    public VerificacionLoginService(AuthenticationManager authenticationManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.login.hilos:0}") int hilos,
+                                    @Value("${app.login.capacidad-cola:200}") int capacidadCola,
+                                    @Value("${app.login.tiempo-maximo-espera-ms:10000}") long tiempoMaximoEsperaMs,
+                                    @Value("${app.login.reintentar-en-segundos:2}") long reintentarEnSegundos) {
+        this.authenticationManager = authenticationManager;
+        this.tiempoMaximoEsperaMs = tiempoMaximoEsperaMs;
+        this.reintentarEnSegundos = reintentarEnSegundos;
+
+        // Por defecto se deja un núcleo libre para el resto de las solicitudes
+        int tamano = hilos > 0 ? hilos : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(tamano, tamano, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola),
+                tarea -> {
+                    Thread hilo = new Thread(tarea, "login-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.tiempoVerificacion = Timer.builder("login.verificacion")
+                .description("Tiempo de verificación de credenciales (BCrypt incluido)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("login.cola.tamano", executor, e -> e.getQueue().size())
+                .description("Inicios de sesión esperando un hilo de verificación")
+                .register(meterRegistry);
+        Gauge.builder("login.hilos.activos", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hilos verificando credenciales en este momento")
+                .register(meterRegistry);
+        this.rechazados = Counter.builder("login.rechazados")
+                .description("Inicios de sesión rechazados por saturación (429)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Autentica las credenciales en el grupo de hilos de inicio de sesión.
+     * @throws AuthenticationException si las credenciales no son válidas
+     * @throws DemasiadasSolicitudesException si la cola de verificación está llena o la espera se agota
+     */
+    public Authentication autenticar(String username, String password) {
+        UsernamePasswordAuthenticationToken credenciales = new UsernamePasswordAuthenticationToken(username, password);
+        Future<Authentication> resultado;
+        try {
+            resultado = executor.submit(() -> tiempoVerificacion.recordCallable(
+                    () -> authenticationManager.authenticate(credenciales)));
+        } catch (RejectedExecutionException e) {
+            rechazados.increment();
+            throw new DemasiadasSolicitudesException(
+                    "Demasiados inicios de sesión en curso. Intente nuevamente en unos segundos.", reintentarEnSegundos);
+        }
+
+        try {
+            return resultado.get(tiempoMaximoEsperaMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            resultado.cancel(true);
+            rechazados.increment();
+            throw new DemasiadasSolicitudesException(
+                    "El inicio de sesión tardó demasiado. Intente nuevamente en unos segundos.", reintentarEnSegundos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            resultado.cancel(true);
+            throw new IllegalStateException("Inicio de sesión interrumpido", e);
+        } catch (ExecutionException e) {
+            // Se propaga la excepción original (por ejemplo BadCredentialsException) como si se hubiera autenticado aquí
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (causa instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(causa);
+        }
+    }
+
+    @PreDestroy
+    void cerrar() {
+        executor.shutdownNow();
+    }
+}
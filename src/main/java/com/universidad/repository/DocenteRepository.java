@@ -1,8 +1,32 @@
 package com.universidad.repository;
 
+import com.universidad.dto.DocenteDTO;
 import com.universidad.model.Docente;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface DocenteRepository extends JpaRepository<Docente, Long> {
-    // Puedes agregar métodos personalizados si lo necesitas
+
+    // Las lecturas proyectan directamente a DTO: no se cargan entidades ni la colección de evaluaciones
+
+    @Query("SELECT new com.universidad.dto.DocenteDTO(d.id, d.nombre, d.apellido, d.email, d.fechaNacimiento, d.nroEmpleado, d.departamento) "
+            + "FROM Docente d ORDER BY d.apellido, d.nombre, d.id")
+    List<DocenteDTO> findDirectorio();
+
+    @Query("SELECT new com.universidad.dto.DocenteDTO(d.id, d.nombre, d.apellido, d.email, d.fechaNacimiento, d.nroEmpleado, d.departamento) "
+            + "FROM Docente d WHERE d.id = :id")
+    Optional<DocenteDTO> findDTOById(@Param("id") Long id);
+
+    @Query("SELECT new com.universidad.dto.DocenteDTO(d.id, d.nombre, d.apellido, d.email, d.fechaNacimiento, d.nroEmpleado, d.departamento) "
+            + "FROM Docente d WHERE d.nroEmpleado = :nroEmpleado")
+    Optional<DocenteDTO> findDTOByNroEmpleado(@Param("nroEmpleado") String nroEmpleado);
+
+    // Usa el índice idx_docente_departamento
+    @Query("SELECT new com.universidad.dto.DocenteDTO(d.id, d.nombre, d.apellido, d.email, d.fechaNacimiento, d.nroEmpleado, d.departamento) "
+            + "FROM Docente d WHERE d.departamento = :departamento ORDER BY d.apellido, d.nombre, d.id")
+    List<DocenteDTO> findDTOByDepartamento(@Param("departamento") String departamento);
 }
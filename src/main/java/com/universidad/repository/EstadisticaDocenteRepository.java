@@ -0,0 +1,69 @@
+package com.universidad.repository;
+
+import com.universidad.model.EstadisticaDocente;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface EstadisticaDocenteRepository extends JpaRepository<EstadisticaDocente, Long> {
+
+    // Suma una evaluación a los agregados del docente (crea la fila si no existe)
+    default void sumarEvaluacion(Long docenteId, int puntuacion) {
+        sumarAgregados(docenteId, 1, puntuacion, (long) puntuacion * puntuacion,
+                puntuacion == 1 ? 1 : 0, puntuacion == 2 ? 1 : 0, puntuacion == 3 ? 1 : 0,
+                puntuacion == 4 ? 1 : 0, puntuacion == 5 ? 1 : 0);
+    }
+
+    // Suma a los agregados del docente los de un conjunto de evaluaciones (crea la fila si no existe)
+    // en una sola sentencia atómica
+    @Modifying
+    @Query(value = "INSERT INTO estadistica_docente (docente_id, cantidad, suma, suma_cuadrados, "
+            + "puntuacion_1, puntuacion_2, puntuacion_3, puntuacion_4, puntuacion_5) "
+            + "VALUES (:docenteId, :cantidad, :suma, :sumaCuadrados, :p1, :p2, :p3, :p4, :p5) "
+            + "ON CONFLICT (docente_id) DO UPDATE SET "
+            + "cantidad = estadistica_docente.cantidad + EXCLUDED.cantidad, "
+            + "suma = estadistica_docente.suma + EXCLUDED.suma, "
+            + "suma_cuadrados = estadistica_docente.suma_cuadrados + EXCLUDED.suma_cuadrados, "
+            + "puntuacion_1 = estadistica_docente.puntuacion_1 + EXCLUDED.puntuacion_1, "
+            + "puntuacion_2 = estadistica_docente.puntuacion_2 + EXCLUDED.puntuacion_2, "
+            + "puntuacion_3 = estadistica_docente.puntuacion_3 + EXCLUDED.puntuacion_3, "
+            + "puntuacion_4 = estadistica_docente.puntuacion_4 + EXCLUDED.puntuacion_4, "
+            + "puntuacion_5 = estadistica_docente.puntuacion_5 + EXCLUDED.puntuacion_5", nativeQuery = true)
+    void sumarAgregados(@Param("docenteId") Long docenteId, @Param("cantidad") long cantidad, @Param("suma") long suma,
+                        @Param("sumaCuadrados") long sumaCuadrados, @Param("p1") long p1, @Param("p2") long p2,
+                        @Param("p3") long p3, @Param("p4") long p4, @Param("p5") long p5);
+
+    // Resta una evaluación eliminada de los agregados del docente
+    @Modifying
+    @Query(value = "UPDATE estadistica_docente SET cantidad = cantidad - 1, suma = suma - :puntuacion, "
+            + "suma_cuadrados = suma_cuadrados - :puntuacion * :puntuacion, "
+            + "puntuacion_1 = puntuacion_1 - CASE WHEN :puntuacion = 1 THEN 1 ELSE 0 END, "
+            + "puntuacion_2 = puntuacion_2 - CASE WHEN :puntuacion = 2 THEN 1 ELSE 0 END, "
+            + "puntuacion_3 = puntuacion_3 - CASE WHEN :puntuacion = 3 THEN 1 ELSE 0 END, "
+            + "puntuacion_4 = puntuacion_4 - CASE WHEN :puntuacion = 4 THEN 1 ELSE 0 END, "
+            + "puntuacion_5 = puntuacion_5 - CASE WHEN :puntuacion = 5 THEN 1 ELSE 0 END "
+            + "WHERE docente_id = :docenteId", nativeQuery = true)
+    void restarEvaluacion(@Param("docenteId") Long docenteId, @Param("puntuacion") int puntuacion);
+
+    // Filas (docenteId, departamento, cantidad, suma) de los docentes con al menos la cantidad mínima de evaluaciones,
+    // para armar el ranking por departamento sin leer evaluaciones
+    @Query(value = "SELECT d.id_persona, d.departamento, e.cantidad, e.suma FROM estadistica_docente e "
+            + "JOIN docente d ON d.id_persona = e.docente_id WHERE e.cantidad >= :minimo", nativeQuery = true)
+    List<Object[]> findPromediosConDepartamento(@Param("minimo") long minimo);
+
+    // Recalcula todos los agregados desde las evaluaciones (para las guardadas antes de existir esta tabla)
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO estadistica_docente (docente_id, cantidad, suma, suma_cuadrados, "
+            + "puntuacion_1, puntuacion_2, puntuacion_3, puntuacion_4, puntuacion_5) "
+            + "SELECT docente_id, COUNT(*), SUM(puntuacion), SUM(puntuacion * puntuacion), "
+            + "COUNT(*) FILTER (WHERE puntuacion = 1), COUNT(*) FILTER (WHERE puntuacion = 2), "
+            + "COUNT(*) FILTER (WHERE puntuacion = 3), COUNT(*) FILTER (WHERE puntuacion = 4), "
+            + "COUNT(*) FILTER (WHERE puntuacion = 5) "
+            + "FROM evaluacion_docente WHERE puntuacion IS NOT NULL GROUP BY docente_id", nativeQuery = true)
+    int reconstruirDesdeEvaluaciones();
+}
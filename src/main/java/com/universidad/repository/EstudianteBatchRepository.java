@@ -0,0 +1,107 @@
+package com.universidad.repository;
+
+import com.universidad.dto.EstudianteDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Operaciones JDBC por lotes sobre las tablas persona y estudiante, usadas por la importación masiva.
+ * Con la herencia JOINED cada estudiante ocupa una fila en persona y otra en estudiante; los IDs se reservan
+ * de antemano en la secuencia de persona para poder insertar ambas tablas con JDBC batching
+ * (Hibernate no agrupa inserciones de entidades con ID IDENTITY).
+ */
+@Repository
+public class EstudianteBatchRepository {
+
+    private static final String SQL_RESERVAR_IDS =
+            "SELECT nextval(pg_get_serial_sequence('persona', 'id_persona')) FROM generate_series(1, ?)";
+
+    private static final String SQL_INSERTAR_PERSONA =
+            "INSERT INTO persona (id_persona, version, nombre, apellido, email, fecha_nacimiento) VALUES (?, 0, ?, ?, ?, ?)";
+
+    private static final String SQL_INSERTAR_ESTUDIANTE =
+            "INSERT INTO estudiante (id_persona, numero_inscripcion, estado, usuario_alta, fecha_alta, usuario_modificacion, "
+                    + "fecha_modificacion, usuario_baja, fecha_baja, motivo_baja) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SQL_EXISTENTES =
+            "SELECT 'email' AS tipo, email AS valor FROM persona WHERE email IN (:emails) "
+                    + "UNION ALL "
+                    + "SELECT 'numero', numero_inscripcion FROM estudiante WHERE numero_inscripcion IN (:numeros)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public EstudianteBatchRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    /**
+     * Busca en una sola consulta cuáles de los emails y números de inscripción dados ya existen.
+     */
+    public Existentes buscarExistentes(Collection<String> emails, Collection<String> numerosInscripcion) {
+        Existentes existentes = new Existentes(new HashSet<>(), new HashSet<>());
+        if (emails.isEmpty() || numerosInscripcion.isEmpty()) {
+            return existentes;
+        }
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("emails", emails)
+                .addValue("numeros", numerosInscripcion);
+        namedParameterJdbcTemplate.query(SQL_EXISTENTES, parametros, rs -> {
+            if ("email".equals(rs.getString("tipo"))) {
+                existentes.emails().add(rs.getString("valor"));
+            } else {
+                existentes.numerosInscripcion().add(rs.getString("valor"));
+            }
+        });
+        return existentes;
+    }
+
+    /**
+     * Inserta los estudiantes con dos sentencias por lotes (persona y estudiante) y asigna a cada DTO su ID.
+     * Debe ejecutarse dentro de una transacción.
+     */
+    public void insertar(List<EstudianteDTO> estudiantes) {
+        if (estudiantes.isEmpty()) {
+            return;
+        }
+        List<Long> ids = jdbcTemplate.queryForList(SQL_RESERVAR_IDS, Long.class, estudiantes.size());
+        List<Object[]> personas = new ArrayList<>(estudiantes.size());
+        List<Object[]> filasEstudiante = new ArrayList<>(estudiantes.size());
+        for (int i = 0; i < estudiantes.size(); i++) {
+            EstudianteDTO estudiante = estudiantes.get(i);
+            estudiante.setId(ids.get(i));
+            personas.add(new Object[] {
+                    estudiante.getId(), estudiante.getNombre(), estudiante.getApellido(), estudiante.getEmail(),
+                    fecha(estudiante.getFechaNacimiento())
+            });
+            filasEstudiante.add(new Object[] {
+                    estudiante.getId(), estudiante.getNumeroInscripcion(), estudiante.getEstado(), estudiante.getUsuarioAlta(),
+                    fecha(estudiante.getFechaAlta()), estudiante.getUsuarioModificacion(), fecha(estudiante.getFechaModificacion()),
+                    estudiante.getUsuarioBaja(), fecha(estudiante.getFechaBaja()), estudiante.getMotivoBaja()
+            });
+        }
+        jdbcTemplate.batchUpdate(SQL_INSERTAR_PERSONA, personas);
+        jdbcTemplate.batchUpdate(SQL_INSERTAR_ESTUDIANTE, filasEstudiante);
+    }
+
+    private static Date fecha(LocalDate fecha) {
+        return fecha != null ? Date.valueOf(fecha) : null;
+    }
+
+    /**
+     * Emails y números de inscripción que ya existen en la base de datos.
+     */
+    public record Existentes(Set<String> emails, Set<String> numerosInscripcion) {
+    }
+}
@@ -1,11 +1,21 @@
 package com.universidad.repository; // Define el paquete al que pertenece esta clase
 
 import com.universidad.model.Estudiante; // Importa la clase Estudiante del paquete model
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository; // Importa la anotación Repository de Spring
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository // Anotación que indica que esta clase es un repositorio de Spring
 public interface EstudianteRepository extends JpaRepository<Estudiante, Long> {
@@ -20,9 +30,47 @@ public interface EstudianteRepository extends JpaRepository<Estudiante, Long> {
     // Método para encontrar un estudiante por su estado
     Estudiante findByEstado(String estado); // Método para encontrar un estudiante por su estado
 
+    // Método para obtener los estudiantes con un estado dado, ordenados por ID (usa el índice idx_estudiante_estado_id)
+    List<Estudiante> findByEstadoOrderByIdAsc(String estado);
+
+    // Método para la paginación por cursor: estudiantes con ID mayor al último de la página anterior
+    List<Estudiante> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Cantidad de filas que el driver trae por cada viaje a la base de datos durante la exportación
+    String TAMANO_FETCH_EXPORTACION = "500";
+
+    // Recorre todos los estudiantes ordenados por ID con un cursor de solo avance (debe usarse dentro de una transacción)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANO_FETCH_EXPORTACION),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT e FROM Estudiante e ORDER BY e.id")
+    Stream<Estudiante> streamTodosOrdenadosPorId();
+
+    // Índice parcial con solo las filas cuyo estado no está normalizado. Todas las escrituras normalizan el estado,
+    // así que queda vacío tras la primera normalización y normalizarEstados() lo recorre sin leer la tabla.
+    // Crearlo recorre la tabla una única vez; en los arranques siguientes IF NOT EXISTS no hace nada
+    @Modifying
+    @Transactional
+    @Query(value = "CREATE INDEX IF NOT EXISTS idx_estudiante_estado_sin_normalizar ON estudiante (id_persona) "
+            + "WHERE estado <> LOWER(TRIM(estado))", nativeQuery = true)
+    void crearIndiceEstadosSinNormalizar();
+
+    // Normaliza los estados guardados antes de usar el índice (sin espacios y en minúsculas).
+    // La condición coincide con la del índice parcial para que el planificador lo use
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE estudiante SET estado = LOWER(TRIM(estado)) WHERE estado <> LOWER(TRIM(estado))", nativeQuery = true)
+    int normalizarEstados();
+
+    // findById (heredado de JpaRepository) es una lectura sin bloqueo; las modificaciones de estudiantes
+    // usan el control optimista de @Version de Persona.
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
-    Optional<Estudiante> findById(Long id); // Método para encontrar un estudiante por su ID con bloqueo pesimista
-    // Este método se utiliza para evitar condiciones de carrera al actualizar el estudiante
+    @Query("SELECT e FROM Estudiante e WHERE e.id = :id")
+    Optional<Estudiante> findByIdParaActualizar(@Param("id") Long id); // Método para encontrar un estudiante por su ID con bloqueo pesimista (SELECT ... FOR UPDATE)
+    // Este método solo debe usarse en operaciones de escritura que necesiten bloquear la fila
     
 
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.universidad.repository;
+
+import com.universidad.dto.EvaluacionDocenteDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Operaciones JDBC por lotes sobre la tabla evaluacion_docente, usadas por la ingesta de evaluaciones.
+ * Los IDs se reservan de antemano en la secuencia de la tabla para poder insertar con JDBC batching
+ * (Hibernate no agrupa inserciones de entidades con ID IDENTITY).
+ */
+@Repository
+public class EvaluacionDocenteBatchRepository {
+
+    private static final String SQL_RESERVAR_IDS =
+            "SELECT nextval(pg_get_serial_sequence('evaluacion_docente', 'id')) FROM generate_series(1, ?)";
+
+    private static final String SQL_INSERTAR_EVALUACION =
+            "INSERT INTO evaluacion_docente (id, docente_id, puntuacion, comentario, fecha) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String SQL_DOCENTES_EXISTENTES =
+            "SELECT id_persona FROM docente WHERE id_persona IN (:ids)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public EvaluacionDocenteBatchRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    /**
+     * Devuelve en una sola consulta cuáles de los IDs de docente dados existen.
+     */
+    public Set<Long> buscarDocentesExistentes(Collection<Long> docenteIds) {
+        if (docenteIds.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(SQL_DOCENTES_EXISTENTES,
+                new MapSqlParameterSource("ids", docenteIds), Long.class));
+    }
+
+    /**
+     * Inserta las evaluaciones con una sentencia por lotes y asigna a cada DTO su ID.
+     * Debe ejecutarse dentro de una transacción.
+     */
+    public void insertar(List<EvaluacionDocenteDTO> evaluaciones) {
+        if (evaluaciones.isEmpty()) {
+            return;
+        }
+        List<Long> ids = jdbcTemplate.queryForList(SQL_RESERVAR_IDS, Long.class, evaluaciones.size());
+        List<Object[]> filas = new ArrayList<>(evaluaciones.size());
+        for (int i = 0; i < evaluaciones.size(); i++) {
+            EvaluacionDocenteDTO evaluacion = evaluaciones.get(i);
+            evaluacion.setId(ids.get(i));
+            filas.add(new Object[] {
+                    evaluacion.getId(), evaluacion.getDocenteId(), evaluacion.getPuntuacion(), evaluacion.getComentario(),
+                    Date.valueOf(evaluacion.getFecha())
+            });
+        }
+        jdbcTemplate.batchUpdate(SQL_INSERTAR_EVALUACION, filas);
+    }
+}
@@ -1,10 +1,45 @@
 package com.universidad.repository;
 
+import com.universidad.dto.EvaluacionDocenteDTO;
 import com.universidad.model.EvaluacionDocente;
 import com.universidad.model.Docente;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
 import java.util.List;
 
 public interface EvaluacionDocenteRepository extends JpaRepository<EvaluacionDocente, Long> {
     List<EvaluacionDocente> findByDocente(Docente docente);
+
+    // Evaluaciones de un docente por su ID, sin cargar antes el docente
+    List<EvaluacionDocente> findByDocenteId(Long docenteId);
+
+    // Primera página del historial de un docente en un rango de fechas, de la más reciente a la más antigua
+    // (usa el índice (docente_id, fecha, id) y no carga entidades)
+    @Query("SELECT new com.universidad.dto.EvaluacionDocenteDTO(e.id, e.docente.id, e.puntuacion, e.comentario, e.fecha) "
+            + "FROM EvaluacionDocente e WHERE e.docente.id = :docenteId AND e.fecha BETWEEN :desde AND :hasta "
+            + "ORDER BY e.fecha DESC, e.id DESC")
+    List<EvaluacionDocenteDTO> findPaginaPorDocente(@Param("docenteId") Long docenteId, @Param("desde") LocalDate desde,
+                                                    @Param("hasta") LocalDate hasta, Limit limit);
+
+    // Página siguiente: continúa después de la última evaluación (fecha, id) de la página anterior
+    @Query("SELECT new com.universidad.dto.EvaluacionDocenteDTO(e.id, e.docente.id, e.puntuacion, e.comentario, e.fecha) "
+            + "FROM EvaluacionDocente e WHERE e.docente.id = :docenteId AND e.fecha BETWEEN :desde AND :hasta "
+            + "AND (e.fecha < :ultimaFecha OR (e.fecha = :ultimaFecha AND e.id < :ultimoId)) "
+            + "ORDER BY e.fecha DESC, e.id DESC")
+    List<EvaluacionDocenteDTO> findPaginaPorDocenteDespuesDe(@Param("docenteId") Long docenteId, @Param("desde") LocalDate desde,
+                                                             @Param("hasta") LocalDate hasta, @Param("ultimaFecha") LocalDate ultimaFecha,
+                                                             @Param("ultimoId") Long ultimoId, Limit limit);
+
+    // ID del docente, puntuación y fecha de una evaluación, sin cargar la evaluación ni el docente
+    @Query("SELECT e.docente.id, e.puntuacion, e.fecha FROM EvaluacionDocente e WHERE e.id = :id")
+    List<Object[]> findDocenteIdPuntuacionYFechaById(@Param("id") Long id);
+
+    // Elimina la evaluación y devuelve la cantidad de filas borradas (0 si ya no existía)
+    @Modifying
+    @Query("DELETE FROM EvaluacionDocente e WHERE e.id = :id")
+    int eliminarPorId(@Param("id") Long id);
 }
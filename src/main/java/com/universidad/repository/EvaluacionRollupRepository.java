@@ -0,0 +1,109 @@
+package com.universidad.repository;
+
+import com.universidad.model.EvaluacionRollupDiario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Consultas sobre los agregados diarios y mensuales de evaluaciones (evaluacion_rollup_diario y evaluacion_rollup_mensual).
+ * Las consultas de tendencia devuelven filas (período, cantidad, suma, suma de cuadrados).
+ */
+public interface EvaluacionRollupRepository extends JpaRepository<EvaluacionRollupDiario, EvaluacionRollupDiario.Clave> {
+
+    // Suma evaluaciones al agregado diario del docente (crea la fila si no existe) en una sola sentencia atómica
+    @Modifying
+    @Query(value = "INSERT INTO evaluacion_rollup_diario (docente_id, fecha, cantidad, suma, suma_cuadrados) "
+            + "VALUES (:docenteId, :fecha, :cantidad, :suma, :sumaCuadrados) "
+            + "ON CONFLICT (docente_id, fecha) DO UPDATE SET "
+            + "cantidad = evaluacion_rollup_diario.cantidad + EXCLUDED.cantidad, "
+            + "suma = evaluacion_rollup_diario.suma + EXCLUDED.suma, "
+            + "suma_cuadrados = evaluacion_rollup_diario.suma_cuadrados + EXCLUDED.suma_cuadrados", nativeQuery = true)
+    void sumarDia(@Param("docenteId") Long docenteId, @Param("fecha") LocalDate fecha, @Param("cantidad") long cantidad,
+                  @Param("suma") long suma, @Param("sumaCuadrados") long sumaCuadrados);
+
+    // Resta una evaluación eliminada del agregado diario; devuelve 0 si el día ya fue compactado
+    @Modifying
+    @Query(value = "UPDATE evaluacion_rollup_diario SET cantidad = cantidad - 1, suma = suma - :puntuacion, "
+            + "suma_cuadrados = suma_cuadrados - :puntuacion * :puntuacion "
+            + "WHERE docente_id = :docenteId AND fecha = :fecha", nativeQuery = true)
+    int restarDia(@Param("docenteId") Long docenteId, @Param("fecha") LocalDate fecha, @Param("puntuacion") int puntuacion);
+
+    // Resta una evaluación eliminada del agregado mensual (para días ya compactados)
+    @Modifying
+    @Query(value = "UPDATE evaluacion_rollup_mensual SET cantidad = cantidad - 1, suma = suma - :puntuacion, "
+            + "suma_cuadrados = suma_cuadrados - :puntuacion * :puntuacion "
+            + "WHERE docente_id = :docenteId AND mes = :mes", nativeQuery = true)
+    int restarMes(@Param("docenteId") Long docenteId, @Param("mes") LocalDate mes, @Param("puntuacion") int puntuacion);
+
+    // Mueve los agregados diarios anteriores al límite a los mensuales. El DELETE ... RETURNING toma los valores
+    // vigentes de cada fila bloqueándola, por lo que una baja concurrente no se pierde
+    @Modifying
+    @Transactional
+    @Query(value = "WITH movidos AS (DELETE FROM evaluacion_rollup_diario WHERE fecha < :limite "
+            + "RETURNING docente_id, fecha, cantidad, suma, suma_cuadrados) "
+            + "INSERT INTO evaluacion_rollup_mensual (docente_id, mes, cantidad, suma, suma_cuadrados) "
+            + "SELECT docente_id, CAST(date_trunc('month', fecha) AS date), SUM(cantidad), SUM(suma), SUM(suma_cuadrados) "
+            + "FROM movidos GROUP BY docente_id, CAST(date_trunc('month', fecha) AS date) "
+            + "ON CONFLICT (docente_id, mes) DO UPDATE SET "
+            + "cantidad = evaluacion_rollup_mensual.cantidad + EXCLUDED.cantidad, "
+            + "suma = evaluacion_rollup_mensual.suma + EXCLUDED.suma, "
+            + "suma_cuadrados = evaluacion_rollup_mensual.suma_cuadrados + EXCLUDED.suma_cuadrados", nativeQuery = true)
+    int compactarAnterioresA(@Param("limite") LocalDate limite);
+
+    // Calcula los agregados diarios desde las evaluaciones (para las guardadas antes de existir estas tablas)
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO evaluacion_rollup_diario (docente_id, fecha, cantidad, suma, suma_cuadrados) "
+            + "SELECT docente_id, fecha, COUNT(*), SUM(puntuacion), SUM(puntuacion * puntuacion) "
+            + "FROM evaluacion_docente WHERE puntuacion IS NOT NULL AND fecha IS NOT NULL "
+            + "GROUP BY docente_id, fecha", nativeQuery = true)
+    int reconstruirDesdeEvaluaciones();
+
+    @Query(value = "SELECT (SELECT COUNT(*) FROM evaluacion_rollup_diario) + (SELECT COUNT(*) FROM evaluacion_rollup_mensual)",
+            nativeQuery = true)
+    long contarFilas();
+
+    // Tendencia diaria de un docente
+    @Query(value = "SELECT fecha, cantidad, suma, suma_cuadrados FROM evaluacion_rollup_diario "
+            + "WHERE docente_id = :docenteId AND fecha BETWEEN :desde AND :hasta AND cantidad > 0 ORDER BY fecha", nativeQuery = true)
+    List<Object[]> findTendenciaDiariaPorDocente(@Param("docenteId") Long docenteId, @Param("desde") LocalDate desde,
+                                                @Param("hasta") LocalDate hasta);
+
+    // Tendencia diaria de un departamento
+    @Query(value = "SELECT r.fecha, SUM(r.cantidad), SUM(r.suma), SUM(r.suma_cuadrados) FROM evaluacion_rollup_diario r "
+            + "JOIN docente d ON d.id_persona = r.docente_id "
+            + "WHERE d.departamento = :departamento AND r.fecha BETWEEN :desde AND :hasta "
+            + "GROUP BY r.fecha HAVING SUM(r.cantidad) > 0 ORDER BY r.fecha", nativeQuery = true)
+    List<Object[]> findTendenciaDiariaPorDepartamento(@Param("departamento") String departamento, @Param("desde") LocalDate desde,
+                                                     @Param("hasta") LocalDate hasta);
+
+    // Tendencia mensual de un docente: meses compactados más días aún no compactados agrupados por mes
+    @Query(value = "SELECT mes, SUM(cantidad), SUM(suma), SUM(suma_cuadrados) FROM ("
+            + "SELECT mes, cantidad, suma, suma_cuadrados FROM evaluacion_rollup_mensual "
+            + "WHERE docente_id = :docenteId AND mes BETWEEN :desde AND :hasta "
+            + "UNION ALL "
+            + "SELECT CAST(date_trunc('month', fecha) AS date), cantidad, suma, suma_cuadrados FROM evaluacion_rollup_diario "
+            + "WHERE docente_id = :docenteId AND fecha BETWEEN :desde AND :hasta) t "
+            + "GROUP BY mes HAVING SUM(cantidad) > 0 ORDER BY mes", nativeQuery = true)
+    List<Object[]> findTendenciaMensualPorDocente(@Param("docenteId") Long docenteId, @Param("desde") LocalDate desde,
+                                                 @Param("hasta") LocalDate hasta);
+
+    // Tendencia mensual de un departamento
+    @Query(value = "SELECT mes, SUM(cantidad), SUM(suma), SUM(suma_cuadrados) FROM ("
+            + "SELECT m.mes, m.cantidad, m.suma, m.suma_cuadrados FROM evaluacion_rollup_mensual m "
+            + "JOIN docente d ON d.id_persona = m.docente_id "
+            + "WHERE d.departamento = :departamento AND m.mes BETWEEN :desde AND :hasta "
+            + "UNION ALL "
+            + "SELECT CAST(date_trunc('month', r.fecha) AS date), r.cantidad, r.suma, r.suma_cuadrados FROM evaluacion_rollup_diario r "
+            + "JOIN docente d ON d.id_persona = r.docente_id "
+            + "WHERE d.departamento = :departamento AND r.fecha BETWEEN :desde AND :hasta) t "
+            + "GROUP BY mes HAVING SUM(cantidad) > 0 ORDER BY mes", nativeQuery = true)
+    List<Object[]> findTendenciaMensualPorDepartamento(@Param("departamento") String departamento, @Param("desde") LocalDate desde,
+                                                      @Param("hasta") LocalDate hasta);
+}
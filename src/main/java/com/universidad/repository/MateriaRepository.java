@@ -1,16 +1,56 @@
 package com.universidad.repository;
 
 import com.universidad.model.Materia;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface MateriaRepository extends JpaRepository<Materia, Long> {
     Materia findByCodigoUnico(String codigoUnico);
 
+    // IDs de todas las materias, para construir el índice del grafo de prerequisitos
+    @Query("SELECT m.id FROM Materia m")
+    List<Long> findAllIds();
+
+    // Filas de la tabla intermedia {id_materia, id_prerequisito}, leídas sin cargar entidades
+    @Query(value = "SELECT id_materia, id_prerequisito FROM materia_prerequisito", nativeQuery = true)
+    List<Object[]> findAristasPrerequisitos();
+
+    // Filas de la tabla intermedia en las que participan las materias indicadas (como materia o como prerequisito),
+    // para armar ambas listas de IDs de sus DTO con una sola consulta
+    @Query(value = "SELECT id_materia, id_prerequisito FROM materia_prerequisito "
+            + "WHERE id_materia IN (:ids) OR id_prerequisito IN (:ids)", nativeQuery = true)
+    List<Object[]> findAristasPrerequisitosDe(@Param("ids") Collection<Long> ids);
+
+    // Bloqueo consultivo de PostgreSQL que serializa las modificaciones de prerequisitos hasta el fin de la
+    // transacción, en todas las instancias. Devuelve siempre 1
+    @Query(value = "SELECT COUNT(*) FROM (SELECT pg_advisory_xact_lock(hashtext('materia_prerequisito'))) bloqueo",
+            nativeQuery = true)
+    long bloquearModificacionPrerequisitos();
+
+    // Indica si "hasta" es alcanzable desde "desde" siguiendo prerequisitos (o si son la misma materia).
+    // UNION descarta las materias ya visitadas, por lo que termina aunque existiera un ciclo
+    @Query(value = "WITH RECURSIVE alcanzables(id) AS ("
+            + "SELECT CAST(:desde AS bigint) "
+            + "UNION "
+            + "SELECT mp.id_prerequisito FROM materia_prerequisito mp JOIN alcanzables a ON mp.id_materia = a.id) "
+            + "SELECT EXISTS (SELECT 1 FROM alcanzables WHERE id = :hasta)", nativeQuery = true)
+    boolean existeCaminoDePrerequisitos(@Param("desde") Long desde, @Param("hasta") Long hasta);
+
+    // Paginación por cursor: materias con ID mayor al último de la página anterior
+    List<Materia> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // findById (heredado de JpaRepository) es una lectura sin bloqueo.
+    // Este método bloquea la fila (SELECT ... FOR UPDATE) y solo debe usarse en operaciones de escritura.
     @Lock(LockModeType.PESSIMISTIC_WRITE) // Bloqueo pesimista para evitar condiciones de carrera
-    Optional<Materia> findById(Long id);
+    @Query("SELECT m FROM Materia m WHERE m.id = :id")
+    Optional<Materia> findByIdParaActualizar(@Param("id") Long id);
 }
@@ -0,0 +1,36 @@
+package com.universidad.service;
+
+import com.universidad.dto.DocenteDTO;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface IDocenteService {
+
+    /**
+     * Obtiene el directorio de docentes ordenado por apellido y nombre.
+     * @return todos los docentes, sin sus evaluaciones.
+     */
+    List<DocenteDTO> obtenerDirectorio();
+
+    /**
+     * Obtiene un docente por su ID.
+     * @param id ID del docente.
+     * @return el docente, o vacío si no existe.
+     */
+    Optional<DocenteDTO> obtenerDocentePorId(Long id);
+
+    /**
+     * Obtiene un docente por su número de empleado.
+     * @param nroEmpleado número de empleado.
+     * @return el docente, o vacío si no existe.
+     */
+    Optional<DocenteDTO> obtenerDocentePorNroEmpleado(String nroEmpleado);
+
+    /**
+     * Obtiene los docentes de un departamento ordenados por apellido y nombre.
+     * @param departamento nombre del departamento.
+     * @return docentes del departamento; lista vacía si no tiene docentes.
+     */
+    List<DocenteDTO> obtenerDocentesPorDepartamento(String departamento);
+}
@@ -0,0 +1,29 @@
+package com.universidad.service;
+
+import com.universidad.dto.ImportacionResultadoDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface IEstudianteImportacionService {
+
+    /**
+     * Formatos aceptados por la importación masiva.
+     */
+    enum Formato {
+        /** CSV con una fila de encabezado con los nombres de los campos de EstudianteDTO */
+        CSV,
+        /** Un EstudianteDTO en JSON por línea */
+        NDJSON
+    }
+
+    /**
+     * Importa estudiantes de forma masiva. Las filas se procesan por lotes: cada lote se valida con una sola
+     * consulta de unicidad (email y número de inscripción) y se inserta con JDBC batching en su propia transacción.
+     * @param entrada contenido a importar.
+     * @param formato formato del contenido.
+     * @return Resultado con la cantidad de estudiantes insertados y los errores de cada fila rechazada.
+     * @throws IOException si ocurre un error al leer la entrada.
+     */
+    ImportacionResultadoDTO importarEstudiantes(InputStream entrada, Formato formato) throws IOException;
+}
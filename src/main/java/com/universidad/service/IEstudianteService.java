@@ -1,6 +1,7 @@
 package com.universidad.service; // Define el paquete al que pertenece esta interfaz
 import com.universidad.dto.EstudianteDTO;
 import com.universidad.dto.MateriaDTO;
+import com.universidad.dto.PaginaDTO;
 
 
 import com.universidad.model.Estudiante;
@@ -8,6 +9,8 @@ import com.universidad.model.Estudiante;
 
 import com.universidad.model.Materia;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List; // Importa la interfaz List para manejar listas
 
 public interface IEstudianteService { // Define la interfaz IEstudianteService
@@ -18,6 +21,15 @@ public interface IEstudianteService { // Define la interfaz IEstudianteService
      */  
     List<EstudianteDTO> obtenerTodosLosEstudiantes(); // Método para obtener una lista de todos los EstudianteDTO
 
+    /**
+     * Obtiene una página de estudiantes ordenados por ID usando paginación por cursor.
+     * @param cursor cursor devuelto en la página anterior (null para la primera página).
+     * @param tamano tamaño de página solicitado (null para el tamaño por defecto).
+     * @return Página de EstudianteDTO con el cursor de la página siguiente.
+     * @throws IllegalArgumentException si el cursor o el tamaño no son válidos.
+     */
+    PaginaDTO<EstudianteDTO> obtenerEstudiantesPaginados(String cursor, Integer tamano); // Método para obtener una página de EstudianteDTO
+
     /**
      * Obtiene un estudiante activo.
      * @return Lista de EstudianteDTO activos.
@@ -33,6 +45,15 @@ public interface IEstudianteService { // Define la interfaz IEstudianteService
      */
     EstudianteDTO obtenerEstudiantePorNumeroInscripcion(String numeroInscripcion); // Método para obtener un estudiante por su número de inscripción
 
+    /**
+     * Escribe todos los estudiantes en formato NDJSON (un objeto JSON por línea), ordenados por ID.
+     * Los estudiantes se leen con un cursor de la base de datos y se escriben a medida que llegan,
+     * por lo que la memoria usada no depende de la cantidad de estudiantes.
+     * @param salida flujo donde se escriben los estudiantes (no se cierra).
+     * @throws IOException si ocurre un error al escribir en el flujo.
+     */
+    void exportarEstudiantesNdjson(OutputStream salida) throws IOException; // Método para exportar los estudiantes en NDJSON
+
     /**
      * Obtiene las materias de un estudiante por su ID.
      * @param estudianteId ID del estudiante.
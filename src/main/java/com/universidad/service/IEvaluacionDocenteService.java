@@ -1,6 +1,10 @@
 package com.universidad.service;
 
+import com.universidad.dto.EstadisticasDocenteDTO;
+import com.universidad.dto.EvaluacionDocenteDTO;
+import com.universidad.dto.PaginaDTO;
 import com.universidad.model.EvaluacionDocente;
+import java.time.LocalDate;
 import java.util.List;
 
 public interface IEvaluacionDocenteService {
@@ -8,4 +12,7 @@ public interface IEvaluacionDocenteService {
     List<EvaluacionDocente> obtenerEvaluacionesPorDocente(Long docenteId);
     EvaluacionDocente obtenerEvaluacionPorId(Long id);
     void eliminarEvaluacion(Long id);
+    EstadisticasDocenteDTO obtenerEstadisticasPorDocente(Long docenteId);
+    PaginaDTO<EvaluacionDocenteDTO> obtenerEvaluacionesPaginadasPorDocente(Long docenteId, LocalDate desde, LocalDate hasta,
+                                                                           String cursor, Integer tamano);
 }
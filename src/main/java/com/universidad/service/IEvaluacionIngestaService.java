@@ -0,0 +1,16 @@
+package com.universidad.service;
+
+import com.universidad.dto.EvaluacionDocenteDTO;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface IEvaluacionIngestaService {
+    /**
+     * Encola una evaluación para guardarla en el próximo lote.
+     * El resultado se completa con la evaluación (y su ID) solo cuando el lote que la contiene se confirmó
+     * en la base de datos, o con un error si no se guardó.
+     * @throws IllegalArgumentException si la evaluación no es válida
+     * @throws com.universidad.registro.exception.RegistroGlobalExceptionHandler.DemasiadasSolicitudesException si la cola está llena
+     */
+    CompletableFuture<EvaluacionDocenteDTO> encolar(EvaluacionDocenteDTO evaluacion);
+}
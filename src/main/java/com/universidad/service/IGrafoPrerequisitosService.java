@@ -0,0 +1,66 @@
+package com.universidad.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface IGrafoPrerequisitosService {
+
+    /**
+     * Indica si agregar una materia como prerequisito de otra formaría un ciclo de prerequisitos.
+     * @param materiaId ID de la materia a la que se agregaría el prerequisito.
+     * @param prerequisitoId ID de la materia candidata a prerequisito.
+     * @return true si se formaría un ciclo, false en caso contrario.
+     */
+    boolean formariaCiclo(Long materiaId, Long prerequisitoId);
+
+    /**
+     * Indica si la materia existe en el índice del grafo.
+     * @param materiaId ID de la materia.
+     */
+    boolean existeMateria(Long materiaId);
+
+    /**
+     * Obtiene todos los prerequisitos directos e indirectos de una materia, en un orden válido para cursarlos.
+     * @param materiaId ID de la materia.
+     * @return IDs de los prerequisitos, o vacío si la materia no existe.
+     */
+    Optional<List<Long>> obtenerCierrePrerequisitos(Long materiaId);
+
+    /**
+     * Obtiene todas las materias que una materia desbloquea directa o indirectamente.
+     * @param materiaId ID de la materia.
+     * @return IDs de las materias desbloqueadas, o vacío si la materia no existe.
+     */
+    Optional<List<Long>> obtenerMateriasDesbloqueadas(Long materiaId);
+
+    /**
+     * Obtiene un orden válido para cursar todo el plan de estudios (cada materia después de sus prerequisitos).
+     * @return IDs de todas las materias en orden topológico, o vacío si el grafo contiene ciclos.
+     */
+    Optional<List<Long>> obtenerOrdenTopologico();
+
+    /**
+     * Actualiza el índice tras modificar los prerequisitos de una materia. Si solo se agregaron prerequisitos
+     * el cierre se actualiza de forma incremental; si se quitaron, se reconstruye completo.
+     * Si hay una transacción en curso, se aplica cuando esta se confirma.
+     * @param materiaId ID de la materia modificada.
+     * @param agregados IDs de los prerequisitos agregados.
+     * @param quitados IDs de los prerequisitos quitados.
+     */
+    void actualizarPrerequisitos(Long materiaId, Collection<Long> agregados, Collection<Long> quitados);
+
+    /**
+     * Agrega al índice una materia recién creada con sus prerequisitos, sin reconstruirlo desde la base de datos.
+     * Si hay una transacción en curso, se aplica cuando esta se confirma.
+     * @param materiaId ID de la materia creada.
+     * @param prerequisitos IDs de sus prerequisitos.
+     */
+    void agregarMateria(Long materiaId, Collection<Long> prerequisitos);
+
+    /**
+     * Vuelve a construir el índice desde la tabla materia_prerequisito.
+     * Si hay una transacción en curso, se reconstruye cuando esta se confirma.
+     */
+    void recargar();
+}
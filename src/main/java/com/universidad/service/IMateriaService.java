@@ -1,12 +1,14 @@
 package com.universidad.service;
 import com.universidad.dto.EstudianteDTO;
 import com.universidad.dto.MateriaDTO;
+import com.universidad.dto.PaginaDTO;
 
 
 import java.util.List;
 
 public interface IMateriaService {
     List<MateriaDTO> obtenerTodasLasMaterias();
+    PaginaDTO<MateriaDTO> obtenerMateriasPaginadas(String cursor, Integer tamano);
     MateriaDTO obtenerMateriaPorId(Long id);
     MateriaDTO obtenerMateriaPorCodigoUnico(String codigoUnico);
     MateriaDTO crearMateria(MateriaDTO materia);
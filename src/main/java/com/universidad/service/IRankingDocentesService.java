@@ -0,0 +1,38 @@
+package com.universidad.service;
+
+import com.universidad.dto.PercentilesDepartamentoDTO;
+import com.universidad.dto.RankingDocenteDTO;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface IRankingDocentesService {
+
+    /**
+     * Obtiene los docentes con mejor promedio de un departamento.
+     * @param departamento nombre del departamento.
+     * @param cantidad cantidad máxima de docentes a devolver.
+     * @return docentes en orden de ranking, o vacío si el departamento no tiene docentes rankeados.
+     */
+    Optional<List<RankingDocenteDTO>> obtenerMejores(String departamento, int cantidad);
+
+    /**
+     * Obtiene la posición y el percentil de un docente dentro de su departamento.
+     * @param docenteId ID del docente.
+     * @return posición del docente, o vacío si no tiene evaluaciones suficientes para ser rankeado.
+     */
+    Optional<RankingDocenteDTO> obtenerPosicion(Long docenteId);
+
+    /**
+     * Obtiene el promedio en cada uno de los percentiles indicados para un departamento.
+     * @param departamento nombre del departamento.
+     * @param percentiles percentiles entre 0 y 100.
+     * @return bandas de percentiles, o vacío si el departamento no tiene docentes rankeados.
+     */
+    Optional<PercentilesDepartamentoDTO> obtenerPercentiles(String departamento, List<Integer> percentiles);
+
+    /**
+     * Vuelve a construir el ranking desde las estadísticas de evaluación de los docentes.
+     */
+    void recargar();
+}
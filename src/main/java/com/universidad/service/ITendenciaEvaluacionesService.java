@@ -0,0 +1,34 @@
+package com.universidad.service;
+
+import com.universidad.dto.TendenciaPuntoDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ITendenciaEvaluacionesService {
+
+    enum Granularidad { DIA, MES }
+
+    /**
+     * Obtiene la evolución de las evaluaciones de un docente a partir de los agregados por día o por mes.
+     * Con granularidad MES el rango se extiende a meses completos.
+     * @param docenteId ID del docente.
+     * @param granularidad DIA o MES; los días anteriores al período de retención diaria solo están disponibles por mes.
+     * @param desde fecha inicial (inclusive).
+     * @param hasta fecha final (inclusive).
+     * @return un punto por período con evaluaciones, en orden cronológico.
+     */
+    List<TendenciaPuntoDTO> obtenerTendenciaPorDocente(Long docenteId, Granularidad granularidad, LocalDate desde, LocalDate hasta);
+
+    /**
+     * Obtiene la evolución de las evaluaciones de todos los docentes de un departamento.
+     * @see #obtenerTendenciaPorDocente(Long, Granularidad, LocalDate, LocalDate)
+     */
+    List<TendenciaPuntoDTO> obtenerTendenciaPorDepartamento(String departamento, Granularidad granularidad, LocalDate desde, LocalDate hasta);
+
+    /**
+     * Compacta en agregados mensuales los agregados diarios anteriores al período de retención.
+     * @return cantidad de agregados mensuales creados o actualizados.
+     */
+    int compactar();
+}
@@ -0,0 +1,143 @@
+package com.universidad.service.cache;
+
+import com.universidad.dto.EstudianteDTO;
+import com.universidad.model.Estudiante;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+/**
+ * Caché de las vistas de estudiantes ("todos" y "activos") indexada por ID.
+ * Cada vista se carga desde la base de datos y después se mantiene aplicando cada alta,
+ * modificación o baja como un cambio puntual, en lugar de invalidarla y reconstruirla
+ * con un findAll() completo.
+ * Las vistas se guardan en la caché Caffeine "estudiantesVistas" (app.cache.specs.estudiantesVistas),
+ * que limita su cantidad, publica sus métricas y las descarta al expirar. Los cambios solo se aplican
+ * en la instancia que los hizo: con varias instancias, las demás los ven cuando su vista expira y se recarga.
+ */
+@Component
+public class EstudianteVistaCache {
+
+    public static final String CACHE = "estudiantesVistas";
+    private static final String TODOS = "todos";
+    private static final String ACTIVOS = "activos";
+
+    private final Cache vistas;
+
+    public EstudianteVistaCache(CacheManager cacheManager) {
+        this.vistas = cacheManager.getCache(CACHE);
+    }
+
+    /**
+     * Devuelve todos los estudiantes ordenados por ID.
+     * @param cargador consulta a ejecutar si la vista aún no está cargada
+     */
+    public List<EstudianteDTO> obtenerTodos(Supplier<List<EstudianteDTO>> cargador) {
+        return vistas.get(TODOS, Vista::new).obtener(cargador);
+    }
+
+    /**
+     * Devuelve los estudiantes activos ordenados por ID.
+     * @param cargador consulta a ejecutar si la vista aún no está cargada
+     */
+    public List<EstudianteDTO> obtenerActivos(Supplier<List<EstudianteDTO>> cargador) {
+        return vistas.get(ACTIVOS, Vista::new).obtener(cargador);
+    }
+
+    /**
+     * Aplica a las vistas el estado actual de un estudiante recién guardado.
+     * Si hay una transacción en curso, el cambio se aplica solo cuando esta se confirma.
+     */
+    public void aplicar(EstudianteDTO estudiante) {
+        aplicar(List.of(estudiante));
+    }
+
+    /**
+     * Aplica a las vistas el estado actual de varios estudiantes recién guardados.
+     * Si hay una transacción en curso, los cambios se aplican solo cuando esta se confirma.
+     */
+    public void aplicar(List<EstudianteDTO> estudiantes) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aplicarAhora(estudiantes);
+                }
+            });
+        } else {
+            aplicarAhora(estudiantes);
+        }
+    }
+
+    /**
+     * Descarta ambas vistas; la siguiente lectura las vuelve a cargar.
+     */
+    public void invalidar() {
+        vistas.clear();
+    }
+
+    // Una vista que no está en la caché no se modifica: la próxima lectura la carga ya con el cambio
+    private void aplicarAhora(List<EstudianteDTO> estudiantes) {
+        Vista todos = vistas.get(TODOS, Vista.class);
+        Vista activos = vistas.get(ACTIVOS, Vista.class);
+        for (EstudianteDTO estudiante : estudiantes) {
+            if (todos != null) {
+                todos.poner(estudiante);
+            }
+            if (activos == null) {
+                continue;
+            }
+            if (Estudiante.ESTADO_ACTIVO.equalsIgnoreCase(estudiante.getEstado())) {
+                activos.poner(estudiante);
+            } else {
+                activos.quitar(estudiante.getId());
+            }
+        }
+    }
+
+    // Vista indexada por ID con una instantánea inmutable que se regenera solo tras un cambio.
+    // Un cambio que llega mientras la vista se carga espera a que termine la carga y se aplica después
+    private static final class Vista {
+        private final NavigableMap<Long, EstudianteDTO> porId = new ConcurrentSkipListMap<>();
+        private volatile boolean cargada;
+        private volatile List<EstudianteDTO> instantanea;
+
+        List<EstudianteDTO> obtener(Supplier<List<EstudianteDTO>> cargador) {
+            List<EstudianteDTO> actual = instantanea;
+            if (actual != null) {
+                return actual;
+            }
+            synchronized (this) {
+                if (!cargada) {
+                    porId.clear();
+                    cargador.get().forEach(estudiante -> porId.put(estudiante.getId(), estudiante));
+                    cargada = true;
+                }
+                if (instantanea == null) {
+                    instantanea = List.copyOf(porId.values());
+                }
+                return instantanea;
+            }
+        }
+
+        synchronized void poner(EstudianteDTO estudiante) {
+            if (cargada && estudiante.getId() != null) {
+                porId.put(estudiante.getId(), estudiante);
+                instantanea = null;
+            }
+        }
+
+        synchronized void quitar(Long id) {
+            if (cargada && id != null && porId.remove(id) != null) {
+                instantanea = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package com.universidad.service.grafo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Índice inmutable del grafo de prerequisitos de las materias.
+ * Los IDs de materia se traducen a índices 0..n-1 (arreglo ordenado + búsqueda binaria) y las aristas
+ * "materia -> prerequisito" se guardan en formato CSR: para la materia i, sus prerequisitos son
+ * prerequisitos[inicio[i] .. inicio[i + 1] - 1]. No se cargan entidades ni colecciones perezosas.
+ * <p>
+ * Además guarda el cierre transitivo como matriz de bits (fila i = todos los prerequisitos directos e
+ * indirectos de i), su transpuesta (fila i = todas las materias que i desbloquea) y un orden topológico
+ * del plan de estudios.
+ */
+public final class GrafoPrerequisitos {
+
+    private final long[] ids;
+    private final int[] inicio;
+    private final int[] prerequisitos;
+    private final int[] inicioInverso;
+    private final int[] dependientes;
+    private final int[] ordenTopologico;
+    private final long[][] cierre;
+    private final long[][] cierreInverso;
+
+    private GrafoPrerequisitos(long[] ids, int[][] csr, long[][] cierre, long[][] cierreInverso) {
+        this.ids = ids;
+        this.inicio = csr[0];
+        this.prerequisitos = csr[1];
+        this.inicioInverso = csr[2];
+        this.dependientes = csr[3];
+        this.ordenTopologico = calcularOrdenTopologico(ids.length, inicio, inicioInverso, dependientes);
+        this.cierre = cierre != null ? cierre : calcularCierre();
+        this.cierreInverso = cierreInverso != null ? cierreInverso : transponer(this.cierre, ids.length);
+    }
+
+    /**
+     * Construye el índice a partir de los IDs de todas las materias y de las filas de materia_prerequisito.
+     * @param idsMaterias IDs de todas las materias
+     * @param aristas pares {id_materia, id_prerequisito}
+     */
+    public static GrafoPrerequisitos construir(long[] idsMaterias, List<long[]> aristas) {
+        long[] ids = idsMaterias.clone();
+        Arrays.sort(ids);
+        return new GrafoPrerequisitos(ids, construirCsr(ids, aristas), null, null);
+    }
+
+    /**
+     * Devuelve un nuevo índice con las aristas "materiaId -> prerequisito" agregadas. En lugar de recalcular
+     * todo el cierre, solo se actualizan las filas afectadas: la materia y las que dependen de ella reciben
+     * el prerequisito y su cierre; el prerequisito y su cierre reciben a la materia y sus dependientes.
+     * @throws IllegalArgumentException si alguna materia no está en el índice
+     */
+    public GrafoPrerequisitos conPrerequisitosAgregados(long materiaId, Collection<Long> nuevosPrerequisitos) {
+        int a = indice(materiaId);
+        List<long[]> aristas = aristas();
+        long[][] nuevoCierre = cierre.clone();
+        long[][] nuevoCierreInverso = cierreInverso.clone();
+        boolean[] filaCopiada = new boolean[ids.length];
+        boolean[] filaInversaCopiada = new boolean[ids.length];
+        for (Long prerequisitoId : nuevosPrerequisitos) {
+            int b = indice(prerequisitoId);
+            aristas.add(new long[] {materiaId, prerequisitoId});
+            // Filas afectadas del cierre: la materia y todas las que la requieren
+            long[] aAgregar = nuevoCierre[b].clone();
+            aAgregar[b >>> 6] |= 1L << b;
+            long[] afectadas = nuevoCierreInverso[a].clone();
+            afectadas[a >>> 6] |= 1L << a;
+            unirEnFilas(nuevoCierre, filaCopiada, afectadas, aAgregar);
+            // Filas afectadas del cierre inverso: el prerequisito y todos sus prerequisitos
+            long[] inversoAAgregar = nuevoCierreInverso[a].clone();
+            inversoAAgregar[a >>> 6] |= 1L << a;
+            long[] afectadasInverso = nuevoCierre[b].clone();
+            afectadasInverso[b >>> 6] |= 1L << b;
+            unirEnFilas(nuevoCierreInverso, filaInversaCopiada, afectadasInverso, inversoAAgregar);
+        }
+        return new GrafoPrerequisitos(ids, construirCsr(ids, aristas), nuevoCierre, nuevoCierreInverso);
+    }
+
+    /**
+     * Devuelve un nuevo índice con una materia nueva y sus prerequisitos. Nadie depende todavía de la materia,
+     * así que su fila del cierre es la unión de sus prerequisitos y sus filas, y solo cambian las filas del cierre
+     * inverso de esos prerequisitos. Si el ID nuevo no es el mayor del índice, los índices de las demás materias
+     * se desplazan y el índice se reconstruye en memoria.
+     * @throws IllegalArgumentException si la materia ya está en el índice o algún prerequisito no lo está
+     */
+    public GrafoPrerequisitos conMateriaAgregada(long materiaId, Collection<Long> nuevosPrerequisitos) {
+        if (contiene(materiaId)) {
+            throw new IllegalArgumentException("La materia " + materiaId + " ya existe");
+        }
+        int n = ids.length;
+        long[] nuevosIds = Arrays.copyOf(ids, n + 1);
+        nuevosIds[n] = materiaId;
+        List<long[]> aristas = aristas();
+        for (Long prerequisitoId : nuevosPrerequisitos) {
+            indice(prerequisitoId);
+            aristas.add(new long[] {materiaId, prerequisitoId});
+        }
+        if (n > 0 && materiaId < ids[n - 1]) {
+            return construir(nuevosIds, aristas);
+        }
+
+        int palabras = (n + 64) >>> 6;
+        boolean ampliar = palabras > ((n + 63) >>> 6);
+        long[][] nuevoCierre = Arrays.copyOf(cierre, n + 1);
+        long[][] nuevoCierreInverso = Arrays.copyOf(cierreInverso, n + 1);
+        if (ampliar) {
+            for (int i = 0; i < n; i++) {
+                nuevoCierre[i] = Arrays.copyOf(cierre[i], palabras);
+                nuevoCierreInverso[i] = Arrays.copyOf(cierreInverso[i], palabras);
+            }
+        }
+        long[] fila = new long[palabras];
+        for (Long prerequisitoId : nuevosPrerequisitos) {
+            int b = indice(prerequisitoId);
+            fila[b >>> 6] |= 1L << b;
+            long[] filaPrerequisito = nuevoCierre[b];
+            for (int w = 0; w < filaPrerequisito.length; w++) {
+                fila[w] |= filaPrerequisito[w];
+            }
+        }
+        nuevoCierre[n] = fila;
+        nuevoCierreInverso[n] = new long[palabras];
+        long[] nueva = new long[palabras];
+        nueva[n >>> 6] |= 1L << n;
+        unirEnFilas(nuevoCierreInverso, new boolean[n + 1], fila, nueva);
+        return new GrafoPrerequisitos(nuevosIds, construirCsr(nuevosIds, aristas), nuevoCierre, nuevoCierreInverso);
+    }
+
+    /**
+     * Cantidad de materias del índice.
+     */
+    public int cantidadMaterias() {
+        return ids.length;
+    }
+
+    /**
+     * Cantidad de relaciones materia -> prerequisito del índice.
+     */
+    public int cantidadAristas() {
+        return prerequisitos.length;
+    }
+
+    /**
+     * Indica si la materia existe en el índice.
+     */
+    public boolean contiene(long materiaId) {
+        return Arrays.binarySearch(ids, materiaId) >= 0;
+    }
+
+    /**
+     * Indica si el grafo contiene ciclos (en cuyo caso no existe un orden topológico completo).
+     */
+    public boolean tieneCiclos() {
+        return ordenTopologico.length < ids.length;
+    }
+
+    /**
+     * Indica si agregar "prerequisitoId" como prerequisito de "materiaId" formaría un ciclo, es decir,
+     * si materiaId ya es un prerequisito directo o indirecto de prerequisitoId (o si son la misma materia).
+     * Es una sola consulta de bit sobre la matriz del cierre: O(1).
+     */
+    public boolean formariaCiclo(long materiaId, long prerequisitoId) {
+        if (materiaId == prerequisitoId) {
+            return true;
+        }
+        int objetivo = Arrays.binarySearch(ids, materiaId);
+        int origen = Arrays.binarySearch(ids, prerequisitoId);
+        if (objetivo < 0 || origen < 0) {
+            return false;
+        }
+        return contieneBit(cierre[origen], objetivo);
+    }
+
+    /**
+     * IDs de todos los prerequisitos directos e indirectos de la materia, en un orden válido para cursarlos.
+     * @throws IllegalArgumentException si la materia no está en el índice
+     */
+    public List<Long> cierrePrerequisitos(long materiaId) {
+        return idsEnOrden(cierre[indice(materiaId)]);
+    }
+
+    /**
+     * IDs de todas las materias que la materia desbloquea directa o indirectamente, en un orden válido para cursarlas.
+     * @throws IllegalArgumentException si la materia no está en el índice
+     */
+    public List<Long> cierreDependientes(long materiaId) {
+        return idsEnOrden(cierreInverso[indice(materiaId)]);
+    }
+
+    /**
+     * IDs de todas las materias en un orden topológico (cada materia aparece después de sus prerequisitos).
+     * Si el grafo tiene ciclos, las materias involucradas (y las que dependen de ellas) no se incluyen.
+     */
+    public List<Long> ordenTopologico() {
+        List<Long> resultado = new ArrayList<>(ordenTopologico.length);
+        for (int i : ordenTopologico) {
+            resultado.add(ids[i]);
+        }
+        return resultado;
+    }
+
+    private int indice(long materiaId) {
+        int i = Arrays.binarySearch(ids, materiaId);
+        if (i < 0) {
+            throw new IllegalArgumentException("La materia " + materiaId + " no existe");
+        }
+        return i;
+    }
+
+    // Devuelve los IDs de los bits encendidos siguiendo el orden topológico (o por ID si hay ciclos)
+    private List<Long> idsEnOrden(long[] fila) {
+        List<Long> resultado = new ArrayList<>();
+        if (!tieneCiclos()) {
+            for (int i : ordenTopologico) {
+                if (contieneBit(fila, i)) {
+                    resultado.add(ids[i]);
+                }
+            }
+            return resultado;
+        }
+        for (int palabra = 0; palabra < fila.length; palabra++) {
+            long bits = fila[palabra];
+            while (bits != 0) {
+                resultado.add(ids[(palabra << 6) + Long.numberOfTrailingZeros(bits)]);
+                bits &= bits - 1;
+            }
+        }
+        return resultado;
+    }
+
+    private List<long[]> aristas() {
+        List<long[]> aristas = new ArrayList<>(prerequisitos.length + 1);
+        for (int i = 0; i < ids.length; i++) {
+            for (int e = inicio[i]; e < inicio[i + 1]; e++) {
+                aristas.add(new long[] {ids[i], ids[prerequisitos[e]]});
+            }
+        }
+        return aristas;
+    }
+
+    // Cierre en orden topológico: la fila de una materia es la unión de sus prerequisitos y de sus filas.
+    // Las materias que quedan fuera del orden (ciclos) se resuelven con un recorrido propio.
+    private long[][] calcularCierre() {
+        int n = ids.length;
+        int palabras = (n + 63) >>> 6;
+        long[][] resultado = new long[n][];
+        for (int i : ordenTopologico) {
+            long[] fila = new long[palabras];
+            for (int e = inicio[i]; e < inicio[i + 1]; e++) {
+                int p = prerequisitos[e];
+                fila[p >>> 6] |= 1L << p;
+                long[] filaPrerequisito = resultado[p];
+                for (int w = 0; w < palabras; w++) {
+                    fila[w] |= filaPrerequisito[w];
+                }
+            }
+            resultado[i] = fila;
+        }
+        for (int i = 0; i < n; i++) {
+            if (resultado[i] == null) {
+                resultado[i] = alcanzables(i, palabras);
+            }
+        }
+        return resultado;
+    }
+
+    private long[] alcanzables(int origen, int palabras) {
+        long[] visitados = new long[palabras];
+        int[] pila = new int[ids.length];
+        int tope = 0;
+        pila[tope++] = origen;
+        while (tope > 0) {
+            int actual = pila[--tope];
+            for (int e = inicio[actual]; e < inicio[actual + 1]; e++) {
+                int vecino = prerequisitos[e];
+                if (!contieneBit(visitados, vecino)) {
+                    visitados[vecino >>> 6] |= 1L << vecino;
+                    pila[tope++] = vecino;
+                }
+            }
+        }
+        return visitados;
+    }
+
+    private static long[][] transponer(long[][] matriz, int n) {
+        int palabras = (n + 63) >>> 6;
+        long[][] resultado = new long[n][palabras];
+        for (int i = 0; i < n; i++) {
+            long[] fila = matriz[i];
+            for (int palabra = 0; palabra < fila.length; palabra++) {
+                long bits = fila[palabra];
+                while (bits != 0) {
+                    int j = (palabra << 6) + Long.numberOfTrailingZeros(bits);
+                    resultado[j][i >>> 6] |= 1L << i;
+                    bits &= bits - 1;
+                }
+            }
+        }
+        return resultado;
+    }
+
+    // Agrega "bitsAAgregar" a cada fila marcada en "filasAfectadas", copiando cada fila antes de modificarla
+    private static void unirEnFilas(long[][] matriz, boolean[] copiada, long[] filasAfectadas, long[] bitsAAgregar) {
+        for (int palabra = 0; palabra < filasAfectadas.length; palabra++) {
+            long bits = filasAfectadas[palabra];
+            while (bits != 0) {
+                int fila = (palabra << 6) + Long.numberOfTrailingZeros(bits);
+                if (!copiada[fila]) {
+                    matriz[fila] = matriz[fila].clone();
+                    copiada[fila] = true;
+                }
+                long[] destino = matriz[fila];
+                for (int w = 0; w < destino.length; w++) {
+                    destino[w] |= bitsAAgregar[w];
+                }
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    // Algoritmo de Kahn: una materia se agrega cuando ya se agregaron todos sus prerequisitos (desempate por ID)
+    private static int[] calcularOrdenTopologico(int n, int[] inicio, int[] inicioInverso, int[] dependientes) {
+        int[] pendientes = new int[n];
+        PriorityQueue<Integer> listas = new PriorityQueue<>();
+        for (int i = 0; i < n; i++) {
+            pendientes[i] = inicio[i + 1] - inicio[i];
+            if (pendientes[i] == 0) {
+                listas.add(i);
+            }
+        }
+        int[] orden = new int[n];
+        int cantidad = 0;
+        while (!listas.isEmpty()) {
+            int actual = listas.poll();
+            orden[cantidad++] = actual;
+            for (int e = inicioInverso[actual]; e < inicioInverso[actual + 1]; e++) {
+                int dependiente = dependientes[e];
+                if (--pendientes[dependiente] == 0) {
+                    listas.add(dependiente);
+                }
+            }
+        }
+        return Arrays.copyOf(orden, cantidad);
+    }
+
+    // Devuelve {inicio, prerequisitos, inicioInverso, dependientes}
+    private static int[][] construirCsr(long[] ids, List<long[]> aristas) {
+        int n = ids.length;
+        int[] origen = new int[aristas.size()];
+        int[] destino = new int[aristas.size()];
+        int m = 0;
+        for (long[] arista : aristas) {
+            int a = Arrays.binarySearch(ids, arista[0]);
+            int b = Arrays.binarySearch(ids, arista[1]);
+            if (a >= 0 && b >= 0) {
+                origen[m] = a;
+                destino[m] = b;
+                m++;
+            }
+        }
+        int[][] directo = agrupar(n, origen, destino, m);
+        int[][] inverso = agrupar(n, destino, origen, m);
+        return new int[][] {directo[0], directo[1], inverso[0], inverso[1]};
+    }
+
+    private static int[][] agrupar(int n, int[] desde, int[] hacia, int m) {
+        int[] inicio = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            inicio[desde[e] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            inicio[i + 1] += inicio[i];
+        }
+        int[] destinos = new int[m];
+        int[] siguiente = Arrays.copyOf(inicio, n);
+        for (int e = 0; e < m; e++) {
+            destinos[siguiente[desde[e]]++] = hacia[e];
+        }
+        return new int[][] {inicio, destinos};
+    }
+
+    private static boolean contieneBit(long[] fila, int i) {
+        return (fila[i >>> 6] & (1L << i)) != 0;
+    }
+}
@@ -0,0 +1,52 @@
+package com.universidad.service.impl;
+
+import com.universidad.dto.DocenteDTO;
+import com.universidad.repository.DocenteRepository;
+import com.universidad.service.IDocenteService;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lecturas de docentes mediante proyecciones a DTO: nunca se cargan entidades Docente, por lo que la
+ * colección de evaluaciones no se inicializa en ninguna consulta.
+ * La aplicación no modifica docentes por API, así que las cachés se renuevan por expiración
+ * (ver app.cache.specs.docentes, docente y docentesDepartamento).
+ */
+@Service
+@Transactional(readOnly = true)
+public class DocenteServiceImpl implements IDocenteService {
+
+    private final DocenteRepository docenteRepository;
+
+    public DocenteServiceImpl(DocenteRepository docenteRepository) {
+        this.docenteRepository = docenteRepository;
+    }
+
+    @Override
+    @Cacheable(value = "docentes")
+    public List<DocenteDTO> obtenerDirectorio() {
+        return docenteRepository.findDirectorio();
+    }
+
+    @Override
+    @Cacheable(value = "docente", key = "#id", unless = "#result == null")
+    public Optional<DocenteDTO> obtenerDocentePorId(Long id) {
+        return docenteRepository.findDTOById(id);
+    }
+
+    @Override
+    @Cacheable(value = "docente", key = "#nroEmpleado", unless = "#result == null")
+    public Optional<DocenteDTO> obtenerDocentePorNroEmpleado(String nroEmpleado) {
+        return docenteRepository.findDTOByNroEmpleado(nroEmpleado);
+    }
+
+    @Override
+    @Cacheable(value = "docentesDepartamento", key = "#departamento")
+    public List<DocenteDTO> obtenerDocentesPorDepartamento(String departamento) {
+        return docenteRepository.findDTOByDepartamento(departamento);
+    }
+}
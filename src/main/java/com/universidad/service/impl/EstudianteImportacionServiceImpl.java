@@ -0,0 +1,231 @@
+package com.universidad.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universidad.dto.EstudianteDTO;
+import com.universidad.dto.ImportacionResultadoDTO;
+import com.universidad.dto.ImportacionResultadoDTO.ErrorFila;
+import com.universidad.repository.EstudianteBatchRepository;
+import com.universidad.service.IEstudianteImportacionService;
+import com.universidad.service.cache.EstudianteVistaCache;
+import com.universidad.validation.EstudianteValidator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class EstudianteImportacionServiceImpl implements IEstudianteImportacionService {
+
+    private final EstudianteBatchRepository estudianteBatchRepository;
+    private final EstudianteValidator estudianteValidator;
+    private final EstudianteVistaCache estudianteVistaCache;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.importacion.tamano-lote:1000}")
+    private int tamanoLote;
+
+    public EstudianteImportacionServiceImpl(EstudianteBatchRepository estudianteBatchRepository,
+            EstudianteValidator estudianteValidator, EstudianteVistaCache estudianteVistaCache, Validator validator,
+            ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.estudianteBatchRepository = estudianteBatchRepository;
+        this.estudianteValidator = estudianteValidator;
+        this.estudianteVistaCache = estudianteVistaCache;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public ImportacionResultadoDTO importarEstudiantes(InputStream entrada, Formato formato) throws IOException {
+        Importacion importacion = new Importacion();
+        BufferedReader lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        String[] encabezado = null;
+        long numeroLinea = 0;
+        String linea;
+        while ((linea = lector.readLine()) != null) {
+            numeroLinea++;
+            if (linea.isBlank()) {
+                continue;
+            }
+            if (formato == Formato.CSV && encabezado == null) {
+                encabezado = separarCsv(linea).toArray(new String[0]);
+                continue;
+            }
+            importacion.totalFilas++;
+            EstudianteDTO estudiante = leerFila(linea, formato, encabezado, numeroLinea, importacion);
+            if (estudiante != null && validarFila(estudiante, numeroLinea, importacion)) {
+                importacion.lote.add(new Fila(numeroLinea, estudiante));
+                if (importacion.lote.size() >= tamanoLote) {
+                    procesarLote(importacion);
+                }
+            }
+        }
+        procesarLote(importacion);
+        return new ImportacionResultadoDTO(importacion.totalFilas, importacion.insertados, importacion.errores);
+    }
+
+    // Convierte una línea en EstudianteDTO; si no se puede, registra el error de la fila y devuelve null
+    private EstudianteDTO leerFila(String linea, Formato formato, String[] encabezado, long numeroLinea, Importacion importacion) {
+        try {
+            EstudianteDTO estudiante;
+            if (formato == Formato.NDJSON) {
+                estudiante = objectMapper.readValue(linea, EstudianteDTO.class);
+            } else {
+                List<String> valores = separarCsv(linea);
+                if (valores.size() != encabezado.length) {
+                    throw new IllegalArgumentException("Se esperaban " + encabezado.length + " columnas y se recibieron " + valores.size());
+                }
+                Map<String, String> campos = new LinkedHashMap<>();
+                for (int i = 0; i < encabezado.length; i++) {
+                    campos.put(encabezado[i].trim(), valores.get(i).isEmpty() ? null : valores.get(i));
+                }
+                estudiante = objectMapper.convertValue(campos, EstudianteDTO.class);
+            }
+            estudiante.setId(null); // El ID lo asigna la base de datos
+            return estudiante;
+        } catch (IOException | IllegalArgumentException e) {
+            importacion.agregarError(numeroLinea, "fila", "Formato inválido: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Aplica las mismas validaciones que el alta individual, salvo la unicidad, que se verifica por lote
+    private boolean validarFila(EstudianteDTO estudiante, long numeroLinea, Importacion importacion) {
+        Map<String, String> errores = new LinkedHashMap<>();
+        for (ConstraintViolation<EstudianteDTO> violacion : validator.validate(estudiante)) {
+            errores.put(violacion.getPropertyPath().toString(), violacion.getMessage());
+        }
+        if (errores.isEmpty()) {
+            try {
+                estudianteValidator.validaDominioEmail(estudiante.getEmail());
+                estudianteValidator.validaNombreEstudiante(estudiante.getNombre());
+                estudianteValidator.validaApellidoEstudiante(estudiante.getApellido());
+            } catch (IllegalArgumentException e) {
+                errores.put("fila", e.getMessage());
+            }
+        }
+        if (errores.isEmpty() && !importacion.emailsVistos.add(estudiante.getEmail())) {
+            errores.put("email", "El email está repetido en el archivo importado");
+        }
+        if (errores.isEmpty() && !importacion.numerosVistos.add(estudiante.getNumeroInscripcion())) {
+            errores.put("numeroInscripcion", "El número de inscripción está repetido en el archivo importado");
+        }
+        if (!errores.isEmpty()) {
+            importacion.errores.add(new ErrorFila(numeroLinea, errores));
+            return false;
+        }
+        estudiante.setEstado(estudiante.getEstado().trim().toLowerCase()); // Misma normalización que la entidad
+        return true;
+    }
+
+    // Verifica la unicidad del lote con una sola consulta e inserta las filas válidas en una transacción
+    private void procesarLote(Importacion importacion) {
+        if (importacion.lote.isEmpty()) {
+            return;
+        }
+        List<Fila> lote = importacion.lote;
+        importacion.lote = new ArrayList<>(tamanoLote);
+
+        Set<String> emails = new HashSet<>();
+        Set<String> numeros = new HashSet<>();
+        lote.forEach(fila -> {
+            emails.add(fila.estudiante().getEmail());
+            numeros.add(fila.estudiante().getNumeroInscripcion());
+        });
+        EstudianteBatchRepository.Existentes existentes = estudianteBatchRepository.buscarExistentes(emails, numeros);
+
+        List<Fila> filasValidas = new ArrayList<>(lote.size());
+        for (Fila fila : lote) {
+            EstudianteDTO estudiante = fila.estudiante();
+            if (existentes.emails().contains(estudiante.getEmail())) {
+                importacion.agregarError(fila.numeroLinea(), "email", "Ya existe un usuario con este email");
+            } else if (existentes.numerosInscripcion().contains(estudiante.getNumeroInscripcion())) {
+                importacion.agregarError(fila.numeroLinea(), "numeroInscripcion", "Ya existe un estudiante con este número de inscripción");
+            } else {
+                filasValidas.add(fila);
+            }
+        }
+        if (filasValidas.isEmpty()) {
+            return;
+        }
+        List<EstudianteDTO> validos = filasValidas.stream().map(Fila::estudiante).toList();
+        try {
+            transactionTemplate.executeWithoutResult(estado -> {
+                estudianteBatchRepository.insertar(validos);
+                estudianteVistaCache.aplicar(validos); // Se aplica a las vistas en caché al confirmar la transacción
+            });
+            importacion.insertados += validos.size();
+        } catch (DataIntegrityViolationException e) {
+            // Otro proceso insertó un email o número de inscripción del lote después de la verificación
+            for (Fila fila : filasValidas) {
+                importacion.agregarError(fila.numeroLinea(), "fila",
+                        "El lote no se pudo insertar por un conflicto de unicidad concurrente; reintente la fila");
+            }
+        }
+    }
+
+    // Separa una línea CSV en valores; admite valores entre comillas dobles con comas y comillas escapadas ("")
+    private static List<String> separarCsv(String linea) {
+        List<String> valores = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                    actual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    actual.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                valores.add(actual.toString().trim());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        valores.add(actual.toString().trim());
+        return valores;
+    }
+
+    private record Fila(long numeroLinea, EstudianteDTO estudiante) {
+    }
+
+    // Estado acumulado de una importación en curso
+    private final class Importacion {
+        private int totalFilas;
+        private int insertados;
+        private final List<ErrorFila> errores = new ArrayList<>();
+        private final Set<String> emailsVistos = new HashSet<>();
+        private final Set<String> numerosVistos = new HashSet<>();
+        private List<Fila> lote = new ArrayList<>(tamanoLote);
+
+        private void agregarError(long numeroLinea, String campo, String mensaje) {
+            Map<String, String> detalle = new LinkedHashMap<>();
+            detalle.put(campo, mensaje);
+            errores.add(new ErrorFila(numeroLinea, detalle));
+        }
+    }
+}
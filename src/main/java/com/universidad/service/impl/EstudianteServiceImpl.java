@@ -2,21 +2,40 @@ package com.universidad.service.impl; // Define el paquete al que pertenece esta
 
 import com.universidad.model.Estudiante; // Importa la clase Estudiante del paquete model
 import com.universidad.dto.EstudianteDTO;
+import com.universidad.dto.PaginaDTO;
 import com.universidad.model.Materia;
 import com.universidad.repository.EstudianteRepository; // Importa la clase EstudianteRepository del paquete repository
 import com.universidad.service.IEstudianteService; // Importa la interfaz IEstudianteService del paquete service
+import com.universidad.service.cache.EstudianteVistaCache; // Importa la caché de vistas de estudiantes
+import com.universidad.util.Paginacion; // Importa las utilidades de paginación por cursor
 import com.universidad.validation.EstudianteValidator; // Importa la clase EstudianteValidator del paquete validation
 
+import com.fasterxml.jackson.core.JsonGenerator; // Importa el generador de JSON de Jackson
+import com.fasterxml.jackson.databind.ObjectMapper; // Importa el ObjectMapper de Jackson
+import com.fasterxml.jackson.databind.ObjectWriter; // Importa el ObjectWriter de Jackson
+import com.fasterxml.jackson.databind.SerializationFeature; // Importa las opciones de serialización de Jackson
+
+import jakarta.persistence.EntityManager; // Importa el EntityManager de JPA
+import jakarta.persistence.PersistenceContext; // Importa la anotación PersistenceContext de JPA
+
 import org.springframework.beans.factory.annotation.Autowired; // Importa la anotación Autowired de Spring
+import org.springframework.beans.factory.annotation.Value; // Importa la anotación Value de Spring
+import org.springframework.cache.Cache; // Importa la interfaz Cache de Spring
+import org.springframework.cache.CacheManager; // Importa el administrador de cachés de Spring
+import org.springframework.data.domain.Limit; // Importa la clase Limit para limitar las filas de una consulta
+import org.springframework.orm.ObjectOptimisticLockingFailureException; // Importa la excepción de conflicto de versión
 import org.springframework.stereotype.Service; // Importa la anotación Service de Spring
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List; // Importa la interfaz List para manejar listas
 import java.util.stream.Collectors; // Importa la clase Collectors para manejar colecciones
+import java.util.stream.Stream; // Importa la clase Stream para recorrer resultados con cursor
 
 @Service // Anotación que indica que esta clase es un servicio de Spring
 public class EstudianteServiceImpl implements IEstudianteService { // Define la clase EstudianteServiceImpl que implementa la interfaz IEstudianteService
@@ -26,10 +45,30 @@ public class EstudianteServiceImpl implements IEstudianteService { // Define la
 
     @Autowired // Inyección de dependencias del validador de estudiantes
     private EstudianteValidator estudianteValidator; // Declara una variable para el validador de estudiantes
+
+    @Autowired // Inyección de dependencias de la caché de vistas (todos / activos)
+    private EstudianteVistaCache estudianteVistaCache; // Mantiene las listas de estudiantes aplicando cambios puntuales
+
+    @Autowired // Inyección del administrador de cachés, para desalojar entradas cuya clave cambió
+    private CacheManager cacheManager;
+
+    @Autowired // Inyección del ObjectMapper configurado por Spring (fechas, módulos, etc.)
+    private ObjectMapper objectMapper; // Serializa los estudiantes durante la exportación
+
+    @PersistenceContext
+    private EntityManager entityManager; // Permite desasociar cada estudiante exportado del contexto de persistencia
+
+    @Value("${app.paginacion.tamano-por-defecto:50}")
+    private int tamanoPaginaPorDefecto; // Tamaño de página cuando el cliente no indica uno
+
+    @Value("${app.paginacion.tamano-maximo:500}")
+    private int tamanoPaginaMaximo; // Tamaño de página máximo permitido
     
-    public EstudianteServiceImpl(EstudianteRepository estudianteRepository, EstudianteValidator estudianteValidator) {
+    public EstudianteServiceImpl(EstudianteRepository estudianteRepository, EstudianteValidator estudianteValidator,
+            EstudianteVistaCache estudianteVistaCache) {
         this.estudianteRepository = estudianteRepository;
         this.estudianteValidator = estudianteValidator;
+        this.estudianteVistaCache = estudianteVistaCache;
     }
 
     /*public EstudianteServiceImpl(EstudianteRepository estudianteRepository) {
@@ -37,12 +76,41 @@ public class EstudianteServiceImpl implements IEstudianteService { // Define la
     }*/
 
     @Override
-    @Cacheable(value = "estudiantes")
     public List<EstudianteDTO> obtenerTodosLosEstudiantes() {
-        // Obtiene todos los estudiantes y los convierte a DTO
-        return estudianteRepository.findAll().stream() // Obtiene todos los estudiantes de la base de datos
+        // Obtiene todos los estudiantes desde la caché de vistas; solo la primera lectura consulta la base de datos
+        return estudianteVistaCache.obtenerTodos(() -> estudianteRepository.findAll().stream() // Obtiene todos los estudiantes de la base de datos
+                .map(this::convertToDTO) // Convierte cada Estudiante a EstudianteDTO
+                .collect(Collectors.toList())); // Recoge los resultados en una lista
+    }
+
+    @Override
+    public PaginaDTO<EstudianteDTO> obtenerEstudiantesPaginados(String cursor, Integer tamano) {
+        // Lee una fila más que el tamaño de página para saber si existe una página siguiente
+        int tamanoPagina = Paginacion.tamanoPagina(tamano, tamanoPaginaPorDefecto, tamanoPaginaMaximo); // Calcula el tamaño de página
+        long ultimoId = Paginacion.decodificarId(cursor); // Obtiene el último ID de la página anterior
+        List<EstudianteDTO> filas = estudianteRepository.findByIdGreaterThanOrderByIdAsc(ultimoId, Limit.of(tamanoPagina + 1)).stream()
                 .map(this::convertToDTO) // Convierte cada Estudiante a EstudianteDTO
                 .collect(Collectors.toList()); // Recoge los resultados en una lista
+        return Paginacion.armarPagina(filas, tamanoPagina, estudiante -> Paginacion.codificarCursor(estudiante.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true) // El cursor de la base de datos solo se mantiene abierto dentro de una transacción
+    public void exportarEstudiantesNdjson(OutputStream salida) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE); // Evita vaciar el flujo por cada estudiante
+        JsonGenerator generador = objectMapper.getFactory().createGenerator(salida); // Escribe directamente en el flujo de salida
+        generador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // El flujo lo cierra quien lo creó
+        generador.setRootValueSeparator(null); // Cada línea termina con un salto de línea propio
+        try (Stream<Estudiante> estudiantes = estudianteRepository.streamTodosOrdenadosPorId()) { // Abre el cursor de solo avance
+            Iterator<Estudiante> iterador = estudiantes.iterator();
+            while (iterador.hasNext()) {
+                Estudiante estudiante = iterador.next();
+                writer.writeValue(generador, convertToDTO(estudiante)); // Escribe el estudiante como un objeto JSON
+                generador.writeRaw('\n'); // Termina la línea NDJSON
+                entityManager.detach(estudiante); // Libera el estudiante para que la memoria no crezca con el total
+            }
+        }
+        generador.flush(); // Envía lo que quede en el búfer del generador
     }
 
     @Override
@@ -54,13 +122,11 @@ public class EstudianteServiceImpl implements IEstudianteService { // Define la
     }
 
     @Override
-    @Cacheable(value = "estudiantesActivos")
     public List<EstudianteDTO> obtenerEstudianteActivo() { // Método para obtener una lista de estudiantes activos
-        // Busca todos los estudiantes activos y los convierte a DTO
-        return estudianteRepository.findAll().stream() // Obtiene todos los estudiantes de la base de datos
-                .filter(estudiante -> "activo".equalsIgnoreCase(estudiante.getEstado())) // Filtra los estudiantes activos
+        // Obtiene los estudiantes activos desde la caché de vistas; solo la primera lectura consulta la base de datos
+        return estudianteVistaCache.obtenerActivos(() -> estudianteRepository.findByEstadoOrderByIdAsc(Estudiante.ESTADO_ACTIVO).stream() // Filtra los activos en la base de datos
                 .map(this::convertToDTO) // Convierte cada Estudiante a EstudianteDTO
-                .collect(Collectors.toList()); // Recoge los resultados en una lista
+                .collect(Collectors.toList())); // Recoge los resultados en una lista
     }
 
 
@@ -75,7 +141,6 @@ public class EstudianteServiceImpl implements IEstudianteService { // Define la
 
     @Override
     @CachePut(value = "estudiante", key = "#result.numeroInscripcion")
-    @CacheEvict(value = {"estudiantes", "estudiantesActivos"}, allEntries = true)
     public EstudianteDTO crearEstudiante(EstudianteDTO estudianteDTO) { // Método para crear un nuevo estudiante
         
         estudianteValidator.validacionCompletaEstudiante(estudianteDTO); // Valida el estudiante usando el validador
@@ -83,16 +148,19 @@ public class EstudianteServiceImpl implements IEstudianteService { // Define la
         // Convierte el DTO a entidad, guarda el estudiante y lo convierte de nuevo a DTO
         Estudiante estudiante = convertToEntity(estudianteDTO); // Convierte el EstudianteDTO a Estudiante
         Estudiante estudianteGuardado = estudianteRepository.save(estudiante); // Guarda el estudiante en la base de datos
-        return convertToDTO(estudianteGuardado); // Convierte el Estudiante guardado a EstudianteDTO y lo retorna
+        EstudianteDTO resultado = convertToDTO(estudianteGuardado); // Convierte el Estudiante guardado a EstudianteDTO
+        estudianteVistaCache.aplicar(resultado); // Agrega el estudiante a las vistas en caché
+        return resultado;
     }
 
     @Override
-    @CachePut(value = "estudiante", key = "#id")
-    @CacheEvict(value = {"estudiantes", "estudiantesActivos"}, allEntries = true)
+    @CachePut(value = "estudiante", key = "#result.numeroInscripcion")
     public EstudianteDTO actualizarEstudiante(Long id, EstudianteDTO estudianteDTO) { // Método para actualizar un estudiante existente
-        // Busca el estudiante por su ID, actualiza sus datos y lo guarda de nuevo
+        // Busca el estudiante por su ID (sin bloqueo), actualiza sus datos y lo guarda de nuevo
         Estudiante estudianteExistente = estudianteRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Estudiante no encontrado")); // Lanza una excepción si el estudiante no se encuentra
+        verificarVersion(estudianteExistente, estudianteDTO); // Rechaza la actualización si el cliente tiene una versión desactualizada
+        String numeroInscripcionAnterior = estudianteExistente.getNumeroInscripcion(); // Clave con la que el estudiante puede estar en caché
         estudianteExistente.setNombre(estudianteDTO.getNombre()); // Actualiza el nombre
         estudianteExistente.setApellido(estudianteDTO.getApellido()); // Actualiza el apellido
         estudianteExistente.setEmail(estudianteDTO.getEmail()); // Actualiza el email
@@ -102,26 +170,37 @@ public class EstudianteServiceImpl implements IEstudianteService { // Define la
         estudianteExistente.setFechaModificacion(LocalDate.now()); // Actualiza la fecha de modificación
 
         Estudiante estudianteActualizado = estudianteRepository.save(estudianteExistente); // Guarda el estudiante actualizado en la base de datos
-        return convertToDTO(estudianteActualizado); // Convierte el Estudiante actualizado a EstudianteDTO y lo retorna
+        EstudianteDTO resultado = convertToDTO(estudianteActualizado); // Convierte el Estudiante actualizado a EstudianteDTO
+        estudianteVistaCache.aplicar(resultado); // Reemplaza el estudiante en las vistas en caché
+        if (numeroInscripcionAnterior != null && !numeroInscripcionAnterior.equals(resultado.getNumeroInscripcion())) {
+            Cache cache = cacheManager.getCache("estudiante");
+            if (cache != null) {
+                cache.evict(numeroInscripcionAnterior); // @CachePut guarda la nueva clave; se quita la anterior
+            }
+        }
+        return resultado;
     }
 
     @Override
-    @CacheEvict(value = {"estudiante", "estudiantes", "estudiantesActivos"}, allEntries = true)
+    @CachePut(value = "estudiante", key = "#result.numeroInscripcion")
     public EstudianteDTO eliminarEstudiante(Long id, EstudianteDTO estudianteDTO) { // Método para eliminar (de manera lógica) un estudiante por su ID
         Estudiante estudianteExistente = estudianteRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Estudiante no encontrado")); // Lanza una excepción si el estudiante no se encuentra
+        verificarVersion(estudianteExistente, estudianteDTO); // Rechaza la baja si el cliente tiene una versión desactualizada
         estudianteExistente.setEstado("inactivo"); // Actualiza el estado a inactivo
         estudianteExistente.setUsuarioBaja("admin"); // Asigna el usuario que dio de baja al estudiante
         estudianteExistente.setFechaBaja(LocalDate.now()); // Actualiza la fecha de baja
         estudianteExistente.setMotivoBaja(estudianteDTO.getMotivoBaja()); // Actualiza el motivo de baja
 
         Estudiante estudianteInactivo = estudianteRepository.save(estudianteExistente); // Guarda el estudiante inactivo en la base de datos
-        return convertToDTO(estudianteInactivo); // Convierte el Estudiante inactivo a EstudianteDTO y lo retorna
+        EstudianteDTO resultado = convertToDTO(estudianteInactivo); // Convierte el Estudiante inactivo a EstudianteDTO
+        estudianteVistaCache.aplicar(resultado); // Quita el estudiante de la vista de activos en caché
+        return resultado;
     }
 
     @Transactional
     public Estudiante obtenerEstudianteConBloqueo(Long id) {
-        Estudiante est = estudianteRepository.findById(id)
+        Estudiante est = estudianteRepository.findByIdParaActualizar(id)
             .orElseThrow(() -> new RuntimeException("Estudiante no encontrado"));
         // Simula un tiempo de procesamiento prolongado
         // Esto es solo para demostrar el bloqueo, en un caso real no se debería hacer esto
@@ -130,10 +209,20 @@ public class EstudianteServiceImpl implements IEstudianteService { // Define la
         return est;
     }
 
+    // Método auxiliar para el control de concurrencia optimista: si el cliente envía la versión que leyó,
+    // debe coincidir con la actual; de lo contrario otro usuario modificó el estudiante entretanto.
+    // Si no la envía, @Version igual detecta las modificaciones concurrentes al guardar.
+    private void verificarVersion(Estudiante estudiante, EstudianteDTO estudianteDTO) {
+        if (estudianteDTO.getVersion() != null && !estudianteDTO.getVersion().equals(estudiante.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Estudiante.class, estudiante.getId());
+        }
+    }
+
     // Método auxiliar para convertir entidad a DTO
     private EstudianteDTO convertToDTO(Estudiante estudiante) { // Método para convertir un Estudiante a EstudianteDTO
         return EstudianteDTO.builder() // Usa el patrón builder para crear un EstudianteDTO
                 .id(estudiante.getId()) // Asigna el ID
+                .version(estudiante.getVersion()) // Asigna la versión
                 .nombre(estudiante.getNombre()) // Asigna el nombre
                 .apellido(estudiante.getApellido()) // Asigna el apellido
                 .email(estudiante.getEmail()) // Asigna el email
@@ -1,14 +1,27 @@
 package com.universidad.service.impl;
 
+import com.universidad.dto.EstadisticasDocenteDTO;
+import com.universidad.dto.EvaluacionDocenteDTO;
+import com.universidad.dto.PaginaDTO;
+import com.universidad.model.EstadisticaDocente;
 import com.universidad.model.EvaluacionDocente;
-import com.universidad.model.Docente;
+import com.universidad.repository.EstadisticaDocenteRepository;
 import com.universidad.repository.EvaluacionDocenteRepository;
+import com.universidad.repository.EvaluacionRollupRepository;
 import com.universidad.repository.DocenteRepository;
 import com.universidad.service.IEvaluacionDocenteService;
+import com.universidad.util.Paginacion;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class EvaluacionDocenteServiceImpl implements IEvaluacionDocenteService {
@@ -16,17 +29,76 @@ public class EvaluacionDocenteServiceImpl implements IEvaluacionDocenteService {
     private EvaluacionDocenteRepository evaluacionDocenteRepository;
     @Autowired
     private DocenteRepository docenteRepository;
+    @Autowired
+    private EstadisticaDocenteRepository estadisticaDocenteRepository;
+    @Autowired
+    private EvaluacionRollupRepository evaluacionRollupRepository;
+
+    // Límites de las fechas cuando no se indica un rango (dentro del rango de fechas de PostgreSQL)
+    private static final LocalDate FECHA_MINIMA = LocalDate.of(1, 1, 1);
+    private static final LocalDate FECHA_MAXIMA = LocalDate.of(9999, 12, 31);
+
+    @Value("${app.paginacion.tamano-por-defecto:50}")
+    private int tamanoPaginaPorDefecto;
+
+    @Value("${app.paginacion.tamano-maximo:500}")
+    private int tamanoPaginaMaximo;
 
     @Override
+    @Transactional // La evaluación y los agregados del docente se guardan juntos
     public EvaluacionDocente crearEvaluacion(EvaluacionDocente evaluacion) {
-        return evaluacionDocenteRepository.save(evaluacion);
+        if (evaluacion.getDocente() == null || evaluacion.getDocente().getId() == null) {
+            throw new IllegalArgumentException("La evaluación debe indicar el docente");
+        }
+        if (evaluacion.getPuntuacion() == null || evaluacion.getPuntuacion() < 1 || evaluacion.getPuntuacion() > 5) {
+            throw new IllegalArgumentException("La puntuación debe estar entre 1 y 5");
+        }
+        if (evaluacion.getFecha() == null) {
+            evaluacion.setFecha(LocalDate.now()); // Sin fecha la evaluación no aparecería en las consultas por rango
+        }
+        EvaluacionDocente guardada = evaluacionDocenteRepository.save(evaluacion);
+        int puntuacion = guardada.getPuntuacion();
+        estadisticaDocenteRepository.sumarEvaluacion(guardada.getDocente().getId(), puntuacion);
+        evaluacionRollupRepository.sumarDia(guardada.getDocente().getId(), guardada.getFecha(), 1, puntuacion, (long) puntuacion * puntuacion);
+        return guardada;
     }
 
     @Override
     public List<EvaluacionDocente> obtenerEvaluacionesPorDocente(Long docenteId) {
-        Docente docente = docenteRepository.findById(docenteId).orElse(null);
-        if (docente == null) return java.util.Collections.emptyList();
-        return evaluacionDocenteRepository.findByDocente(docente);
+        // Se consulta directamente por docente_id, sin cargar antes el docente
+        return evaluacionDocenteRepository.findByDocenteId(docenteId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaDTO<EvaluacionDocenteDTO> obtenerEvaluacionesPaginadasPorDocente(Long docenteId, LocalDate desde, LocalDate hasta,
+                                                                                  String cursor, Integer tamano) {
+        int tamanoPagina = Paginacion.tamanoPagina(tamano, tamanoPaginaPorDefecto, tamanoPaginaMaximo);
+        LocalDate fechaDesde = desde != null ? desde : FECHA_MINIMA;
+        LocalDate fechaHasta = hasta != null ? hasta : FECHA_MAXIMA;
+        if (fechaDesde.isAfter(fechaHasta)) {
+            throw new IllegalArgumentException("La fecha desde no puede ser posterior a la fecha hasta");
+        }
+
+        List<EvaluacionDocenteDTO> filas;
+        if (cursor == null || cursor.isBlank()) {
+            filas = evaluacionDocenteRepository.findPaginaPorDocente(docenteId, fechaDesde, fechaHasta, Limit.of(tamanoPagina + 1));
+        } else {
+            // El cursor guarda la fecha y el ID de la última evaluación devuelta
+            String[] partes = Paginacion.decodificarCursor(cursor, 2);
+            LocalDate ultimaFecha;
+            long ultimoId;
+            try {
+                ultimaFecha = LocalDate.parse(partes[0]);
+                ultimoId = Long.parseLong(partes[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("El cursor de paginación no es válido", e);
+            }
+            filas = evaluacionDocenteRepository.findPaginaPorDocenteDespuesDe(docenteId, fechaDesde, fechaHasta,
+                    ultimaFecha, ultimoId, Limit.of(tamanoPagina + 1));
+        }
+        return Paginacion.armarPagina(filas, tamanoPagina,
+                evaluacion -> Paginacion.codificarCursor(evaluacion.getFecha(), evaluacion.getId()));
     }
 
     @Override
@@ -35,7 +107,52 @@ public class EvaluacionDocenteServiceImpl implements IEvaluacionDocenteService {
     }
 
     @Override
+    @Transactional
     public void eliminarEvaluacion(Long id) {
-        evaluacionDocenteRepository.deleteById(id);
+        List<Object[]> filas = evaluacionDocenteRepository.findDocenteIdPuntuacionYFechaById(id);
+        // Solo se restan los agregados si esta llamada borró la fila (dos bajas simultáneas no restan dos veces)
+        if (evaluacionDocenteRepository.eliminarPorId(id) > 0 && !filas.isEmpty() && filas.get(0)[1] != null) {
+            Object[] fila = filas.get(0);
+            Long docenteId = ((Number) fila[0]).longValue();
+            int puntuacion = ((Number) fila[1]).intValue();
+            LocalDate fecha = (LocalDate) fila[2];
+            estadisticaDocenteRepository.restarEvaluacion(docenteId, puntuacion);
+            // Si el día ya fue compactado, se resta del agregado mensual
+            if (fecha != null && evaluacionRollupRepository.restarDia(docenteId, fecha, puntuacion) == 0) {
+                evaluacionRollupRepository.restarMes(docenteId, fecha.withDayOfMonth(1), puntuacion);
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EstadisticasDocenteDTO obtenerEstadisticasPorDocente(Long docenteId) {
+        // Una sola fila por docente, sin importar cuántas evaluaciones tenga
+        EstadisticaDocente estadistica = estadisticaDocenteRepository.findById(docenteId)
+                .orElseGet(() -> new EstadisticaDocente(docenteId, 0, 0, 0, 0, 0, 0, 0, 0));
+
+        Map<Integer, Long> distribucion = new LinkedHashMap<>();
+        distribucion.put(1, estadistica.getPuntuacion1());
+        distribucion.put(2, estadistica.getPuntuacion2());
+        distribucion.put(3, estadistica.getPuntuacion3());
+        distribucion.put(4, estadistica.getPuntuacion4());
+        distribucion.put(5, estadistica.getPuntuacion5());
+
+        Double promedio = null;
+        Double desviacionEstandar = null;
+        long cantidad = estadistica.getCantidad();
+        if (cantidad > 0) {
+            promedio = (double) estadistica.getSuma() / cantidad;
+            double varianza = (double) estadistica.getSumaCuadrados() / cantidad - promedio * promedio;
+            desviacionEstandar = Math.sqrt(Math.max(varianza, 0)); // Evita negativos por redondeo
+        }
+
+        return EstadisticasDocenteDTO.builder()
+                .docenteId(docenteId)
+                .cantidad(cantidad)
+                .promedio(promedio)
+                .desviacionEstandar(desviacionEstandar)
+                .distribucion(distribucion)
+                .build();
     }
 }
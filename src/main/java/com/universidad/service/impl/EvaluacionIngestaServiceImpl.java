@@ -0,0 +1,245 @@
+package com.universidad.service.impl;
+
+import com.universidad.dto.EvaluacionDocenteDTO;
+import com.universidad.registro.exception.RegistroGlobalExceptionHandler.DemasiadasSolicitudesException;
+import com.universidad.repository.EstadisticaDocenteRepository;
+import com.universidad.repository.EvaluacionDocenteBatchRepository;
+import com.universidad.repository.EvaluacionRollupRepository;
+import com.universidad.service.IEvaluacionIngestaService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Ingesta de evaluaciones en lotes para los picos de fin de cuatrimestre.
+ * Las evaluaciones se acumulan en una cola acotada en memoria y un único hilo las guarda en lotes
+ * (cuando se junta el tamaño de lote o se cumple la espera máxima desde la primera pendiente),
+ * con una inserción JDBC por lotes y una actualización de estadísticas por docente y de agregados por día.
+ * Cada solicitud se responde recién cuando su lote se confirmó en la base de datos, por lo que una
+ * evaluación aceptada nunca se pierde; si la cola está llena se rechaza de inmediato con 429.
+ */
+@Service
+public class EvaluacionIngestaServiceImpl implements IEvaluacionIngestaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EvaluacionIngestaServiceImpl.class);
+
+    private final EvaluacionDocenteBatchRepository evaluacionDocenteBatchRepository;
+    private final EstadisticaDocenteRepository estadisticaDocenteRepository;
+    private final EvaluacionRollupRepository evaluacionRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<Pendiente> cola;
+    private final int tamanoLote;
+    private final long esperaMaximaNanos;
+    private final long reintentarEnSegundos;
+
+    private final Counter guardadas;
+    private final Counter rechazadas;
+    private final Counter fallidas;
+    private final Timer tiempoLote;
+    private final Timer demora;
+
+    private volatile boolean activo = true;
+    private Thread hilo;
+
+    public EvaluacionIngestaServiceImpl(EvaluacionDocenteBatchRepository evaluacionDocenteBatchRepository,
+            EstadisticaDocenteRepository estadisticaDocenteRepository, EvaluacionRollupRepository evaluacionRollupRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.ingesta.evaluaciones.capacidad-cola:10000}") int capacidadCola,
+            @Value("${app.ingesta.evaluaciones.tamano-lote:500}") int tamanoLote,
+            @Value("${app.ingesta.evaluaciones.espera-maxima-ms:200}") long esperaMaximaMs,
+            @Value("${app.ingesta.evaluaciones.reintentar-en-segundos:1}") long reintentarEnSegundos) {
+        this.evaluacionDocenteBatchRepository = evaluacionDocenteBatchRepository;
+        this.estadisticaDocenteRepository = estadisticaDocenteRepository;
+        this.evaluacionRollupRepository = evaluacionRollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cola = new ArrayBlockingQueue<>(capacidadCola);
+        this.tamanoLote = tamanoLote;
+        this.esperaMaximaNanos = TimeUnit.MILLISECONDS.toNanos(esperaMaximaMs);
+        this.reintentarEnSegundos = reintentarEnSegundos;
+
+        Gauge.builder("ingesta.evaluaciones.cola", cola, BlockingQueue::size)
+                .description("Evaluaciones esperando ser guardadas")
+                .register(meterRegistry);
+        this.guardadas = Counter.builder("ingesta.evaluaciones.guardadas")
+                .description("Evaluaciones confirmadas en la base de datos")
+                .register(meterRegistry);
+        this.rechazadas = Counter.builder("ingesta.evaluaciones.rechazadas")
+                .description("Evaluaciones rechazadas por cola llena (429)")
+                .register(meterRegistry);
+        this.fallidas = Counter.builder("ingesta.evaluaciones.fallidas")
+                .description("Evaluaciones que no se guardaron por un error del lote o un docente inexistente")
+                .register(meterRegistry);
+        this.tiempoLote = Timer.builder("ingesta.evaluaciones.lote")
+                .description("Tiempo de guardado de cada lote")
+                .register(meterRegistry);
+        this.demora = Timer.builder("ingesta.evaluaciones.demora")
+                .description("Tiempo desde que una evaluación se encola hasta que se confirma")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void iniciar() {
+        hilo = new Thread(this::procesar, "ingesta-evaluaciones");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    @PreDestroy
+    void detener() throws InterruptedException {
+        // El hilo termina de guardar lo que quedó en la cola antes de salir
+        activo = false;
+        hilo.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    @Override
+    public CompletableFuture<EvaluacionDocenteDTO> encolar(EvaluacionDocenteDTO evaluacion) {
+        if (evaluacion.getDocenteId() == null) {
+            throw new IllegalArgumentException("La evaluación debe indicar el docente");
+        }
+        if (evaluacion.getPuntuacion() == null || evaluacion.getPuntuacion() < 1 || evaluacion.getPuntuacion() > 5) {
+            throw new IllegalArgumentException("La puntuación debe estar entre 1 y 5");
+        }
+        if (evaluacion.getFecha() == null) {
+            evaluacion.setFecha(LocalDate.now());
+        }
+        evaluacion.setId(null);
+
+        Pendiente pendiente = new Pendiente(evaluacion, new CompletableFuture<>(), System.nanoTime());
+        if (!activo || !cola.offer(pendiente)) {
+            rechazadas.increment();
+            throw new DemasiadasSolicitudesException(
+                    "Hay demasiadas evaluaciones pendientes. Intente nuevamente en unos segundos.", reintentarEnSegundos);
+        }
+        return pendiente.resultado();
+    }
+
+    // Bucle del hilo de ingesta: arma lotes por tamaño o por tiempo y los guarda
+    private void procesar() {
+        List<Pendiente> lote = new ArrayList<>(tamanoLote);
+        while (activo || !cola.isEmpty()) {
+            try {
+                Pendiente primera = cola.poll(100, TimeUnit.MILLISECONDS);
+                if (primera == null) {
+                    continue;
+                }
+                lote.add(primera);
+                long limite = System.nanoTime() + esperaMaximaNanos;
+                while (lote.size() < tamanoLote) {
+                    cola.drainTo(lote, tamanoLote - lote.size());
+                    long restante = limite - System.nanoTime();
+                    if (lote.size() >= tamanoLote || restante <= 0) {
+                        break;
+                    }
+                    Pendiente siguiente = cola.poll(restante, TimeUnit.NANOSECONDS);
+                    if (siguiente == null) {
+                        break;
+                    }
+                    lote.add(siguiente);
+                }
+                tiempoLote.record(() -> guardarLote(lote));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                activo = false;
+            } catch (RuntimeException e) {
+                logger.error("Error inesperado en la ingesta de evaluaciones", e);
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void guardarLote(List<Pendiente> lote) {
+        List<Pendiente> validas = lote;
+        try {
+            // Las evaluaciones de docentes inexistentes se rechazan individualmente para no hacer fallar el lote
+            Set<Long> existentes = evaluacionDocenteBatchRepository.buscarDocentesExistentes(
+                    lote.stream().map(p -> p.evaluacion().getDocenteId()).collect(Collectors.toSet()));
+            validas = new ArrayList<>(lote.size());
+            for (Pendiente pendiente : lote) {
+                if (existentes.contains(pendiente.evaluacion().getDocenteId())) {
+                    validas.add(pendiente);
+                } else {
+                    fallidas.increment();
+                    pendiente.resultado().completeExceptionally(
+                            new EntityNotFoundException("Docente no encontrado con ID: " + pendiente.evaluacion().getDocenteId()));
+                }
+            }
+
+            List<Pendiente> aGuardar = validas;
+            transactionTemplate.executeWithoutResult(status -> {
+                evaluacionDocenteBatchRepository.insertar(
+                        aGuardar.stream().map(Pendiente::evaluacion).collect(Collectors.toList()));
+                actualizarEstadisticas(aGuardar);
+            });
+        } catch (RuntimeException e) {
+            logger.error("No se pudo guardar un lote de {} evaluaciones", validas.size(), e);
+            validas.forEach(pendiente -> {
+                if (pendiente.resultado().completeExceptionally(e)) {
+                    fallidas.increment();
+                }
+            });
+            return;
+        }
+
+        long ahora = System.nanoTime();
+        for (Pendiente pendiente : validas) {
+            demora.record(ahora - pendiente.encoladaNanos(), TimeUnit.NANOSECONDS);
+            pendiente.resultado().complete(pendiente.evaluacion());
+        }
+        guardadas.increment(validas.size());
+    }
+
+    // Una sola actualización de estadísticas por docente y de agregado diario por docente y día del lote,
+    // en orden de clave para evitar bloqueos cruzados
+    private void actualizarEstadisticas(List<Pendiente> lote) {
+        Map<Long, long[]> porDocente = new TreeMap<>();
+        Map<Long, Map<LocalDate, long[]>> porDocenteYDia = new TreeMap<>();
+        for (Pendiente pendiente : lote) {
+            EvaluacionDocenteDTO evaluacion = pendiente.evaluacion();
+            int puntuacion = evaluacion.getPuntuacion();
+            long[] agregados = porDocente.computeIfAbsent(evaluacion.getDocenteId(), id -> new long[8]);
+            agregados[0]++;
+            agregados[1] += puntuacion;
+            agregados[2] += (long) puntuacion * puntuacion;
+            agregados[2 + puntuacion]++;
+            long[] dia = porDocenteYDia.computeIfAbsent(evaluacion.getDocenteId(), id -> new TreeMap<>())
+                    .computeIfAbsent(evaluacion.getFecha(), f -> new long[3]);
+            dia[0]++;
+            dia[1] += puntuacion;
+            dia[2] += (long) puntuacion * puntuacion;
+        }
+        porDocente.forEach((docenteId, a) -> estadisticaDocenteRepository.sumarAgregados(
+                docenteId, a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7]));
+        porDocenteYDia.forEach((docenteId, dias) -> dias.forEach((fecha, d) ->
+                evaluacionRollupRepository.sumarDia(docenteId, fecha, d[0], d[1], d[2])));
+    }
+
+    private record Pendiente(EvaluacionDocenteDTO evaluacion, CompletableFuture<EvaluacionDocenteDTO> resultado,
+                             long encoladaNanos) {
+    }
+}
@@ -0,0 +1,151 @@
+package com.universidad.service.impl;
+
+import com.universidad.repository.MateriaRepository;
+import com.universidad.service.IGrafoPrerequisitosService;
+import com.universidad.service.grafo.GrafoPrerequisitos;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Mantiene en memoria el índice del grafo de prerequisitos y su cierre transitivo. Las consultas leen una
+ * instantánea inmutable sin bloqueos. Las altas de materias y los prerequisitos agregados actualizan el cierre
+ * de forma incremental; las bajas y los prerequisitos quitados reconstruyen el índice con dos consultas
+ * (IDs de materias y filas de la tabla intermedia).
+ * La instantánea se actualiza al confirmar cada transacción y es local a cada instancia, por lo que sirve para
+ * rechazar ciclos rápido pero no como verificación definitiva: MateriaServiceImpl vuelve a verificar contra la
+ * base de datos bajo un bloqueo.
+ */
+@Service
+public class GrafoPrerequisitosServiceImpl implements IGrafoPrerequisitosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GrafoPrerequisitosServiceImpl.class);
+
+    private final MateriaRepository materiaRepository;
+
+    private volatile GrafoPrerequisitos grafo;
+
+    public GrafoPrerequisitosServiceImpl(MateriaRepository materiaRepository) {
+        this.materiaRepository = materiaRepository;
+    }
+
+    @Override
+    public boolean formariaCiclo(Long materiaId, Long prerequisitoId) {
+        if (materiaId == null || prerequisitoId == null) {
+            return false;
+        }
+        return obtenerGrafo().formariaCiclo(materiaId, prerequisitoId);
+    }
+
+    @Override
+    public boolean existeMateria(Long materiaId) {
+        return materiaId != null && obtenerGrafo().contiene(materiaId);
+    }
+
+    @Override
+    public Optional<List<Long>> obtenerCierrePrerequisitos(Long materiaId) {
+        GrafoPrerequisitos actual = obtenerGrafo();
+        if (materiaId == null || !actual.contiene(materiaId)) {
+            return Optional.empty();
+        }
+        return Optional.of(actual.cierrePrerequisitos(materiaId));
+    }
+
+    @Override
+    public Optional<List<Long>> obtenerMateriasDesbloqueadas(Long materiaId) {
+        GrafoPrerequisitos actual = obtenerGrafo();
+        if (materiaId == null || !actual.contiene(materiaId)) {
+            return Optional.empty();
+        }
+        return Optional.of(actual.cierreDependientes(materiaId));
+    }
+
+    @Override
+    public Optional<List<Long>> obtenerOrdenTopologico() {
+        GrafoPrerequisitos actual = obtenerGrafo();
+        if (actual.tieneCiclos()) {
+            return Optional.empty();
+        }
+        return Optional.of(actual.ordenTopologico());
+    }
+
+    @Override
+    public void actualizarPrerequisitos(Long materiaId, Collection<Long> agregados, Collection<Long> quitados) {
+        if (agregados.isEmpty() && quitados.isEmpty()) {
+            return;
+        }
+        despuesDeConfirmar(() -> aplicarCambio(materiaId, agregados, quitados));
+    }
+
+    @Override
+    public void agregarMateria(Long materiaId, Collection<Long> prerequisitos) {
+        despuesDeConfirmar(() -> aplicarAlta(materiaId, prerequisitos));
+    }
+
+    @Override
+    public void recargar() {
+        despuesDeConfirmar(this::construir);
+    }
+
+    private void despuesDeConfirmar(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+
+    private synchronized void aplicarCambio(Long materiaId, Collection<Long> agregados, Collection<Long> quitados) {
+        GrafoPrerequisitos actual = grafo;
+        if (actual == null) {
+            return; // Aún no se construyó: la primera consulta lo leerá actualizado
+        }
+        boolean incremental = quitados.isEmpty() && actual.contiene(materiaId)
+                && agregados.stream().allMatch(actual::contiene);
+        if (incremental) {
+            grafo = actual.conPrerequisitosAgregados(materiaId, agregados);
+        } else {
+            construir();
+        }
+    }
+
+    private synchronized void aplicarAlta(Long materiaId, Collection<Long> prerequisitos) {
+        GrafoPrerequisitos actual = grafo;
+        if (actual == null) {
+            return; // Aún no se construyó: la primera consulta lo leerá actualizado
+        }
+        if (!actual.contiene(materiaId) && prerequisitos.stream().allMatch(actual::contiene)) {
+            grafo = actual.conMateriaAgregada(materiaId, prerequisitos);
+        } else {
+            construir();
+        }
+    }
+
+    // Devuelve la instantánea actual; la primera consulta construye el índice
+    private GrafoPrerequisitos obtenerGrafo() {
+        GrafoPrerequisitos actual = grafo;
+        return actual != null ? actual : construir();
+    }
+
+    private synchronized GrafoPrerequisitos construir() {
+        long[] ids = materiaRepository.findAllIds().stream().mapToLong(Long::longValue).toArray();
+        List<long[]> aristas = materiaRepository.findAristasPrerequisitos().stream()
+                .map(fila -> new long[] {((Number) fila[0]).longValue(), ((Number) fila[1]).longValue()})
+                .toList();
+        GrafoPrerequisitos nuevo = GrafoPrerequisitos.construir(ids, aristas);
+        grafo = nuevo;
+        logger.debug("Grafo de prerequisitos reconstruido: {} materias, {} aristas", nuevo.cantidadMaterias(), nuevo.cantidadAristas());
+        return nuevo;
+    }
+}
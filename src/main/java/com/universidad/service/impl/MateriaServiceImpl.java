@@ -2,15 +2,30 @@ package com.universidad.service.impl;
 
 import com.universidad.model.Materia;
 import com.universidad.dto.MateriaDTO;
+import com.universidad.dto.PaginaDTO;
 import com.universidad.repository.MateriaRepository;
+import com.universidad.service.IGrafoPrerequisitosService;
 import com.universidad.service.IMateriaService;
+import com.universidad.util.Paginacion;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,69 +34,181 @@ public class MateriaServiceImpl implements IMateriaService {
     @Autowired
     private MateriaRepository materiaRepository;
 
-    // Método utilitario para mapear Materia a MateriaDTO
-    private MateriaDTO mapToDTO(Materia materia) {
-        if (materia == null) return null;
-        return MateriaDTO.builder()
-                .id(materia.getId())
-                .nombreMateria(materia.getNombreMateria())
-                .codigoUnico(materia.getCodigoUnico())
-                .creditos(materia.getCreditos())
-                .prerequisitos(materia.getPrerequisitos() != null ?
-                    materia.getPrerequisitos().stream().map(Materia::getId).collect(Collectors.toList()) : null)
-                .esPrerequisitoDe(materia.getEsPrerequisitoDe() != null ?
-                    materia.getEsPrerequisitoDe().stream().map(Materia::getId).collect(Collectors.toList()) : null)
-                .build();
+    @Autowired
+    private IGrafoPrerequisitosService grafoPrerequisitosService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${app.paginacion.tamano-por-defecto:50}")
+    private int tamanoPaginaPorDefecto;
+
+    @Value("${app.paginacion.tamano-maximo:500}")
+    private int tamanoPaginaMaximo;
+
+    // Mapea varias materias a DTO leyendo ambas listas de IDs de prerequisitos desde las filas de la tabla
+    // intermedia ya consultadas, en lugar de inicializar dos colecciones perezosas por materia (N+1)
+    private List<MateriaDTO> mapToDTOs(List<Materia> materias, List<Object[]> aristas) {
+        Map<Long, List<Long>> prerequisitos = new HashMap<>();
+        Map<Long, List<Long>> esPrerequisitoDe = new HashMap<>();
+        for (Object[] arista : aristas) {
+            Long materiaId = ((Number) arista[0]).longValue();
+            Long prerequisitoId = ((Number) arista[1]).longValue();
+            prerequisitos.computeIfAbsent(materiaId, k -> new ArrayList<>()).add(prerequisitoId);
+            esPrerequisitoDe.computeIfAbsent(prerequisitoId, k -> new ArrayList<>()).add(materiaId);
+        }
+        return materias.stream()
+                .map(materia -> MateriaDTO.builder()
+                        .id(materia.getId())
+                        .nombreMateria(materia.getNombreMateria())
+                        .codigoUnico(materia.getCodigoUnico())
+                        .creditos(materia.getCreditos())
+                        .prerequisitos(prerequisitos.getOrDefault(materia.getId(), new ArrayList<>()))
+                        .esPrerequisitoDe(esPrerequisitoDe.getOrDefault(materia.getId(), new ArrayList<>()))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    // Mapea las materias consultando solo las filas de la tabla intermedia en las que participan
+    private List<MateriaDTO> mapToDTOs(List<Materia> materias) {
+        if (materias.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Collection<Long> ids = materias.stream().map(Materia::getId).collect(Collectors.toList());
+        return mapToDTOs(materias, materiaRepository.findAristasPrerequisitosDe(ids));
     }
 
     @Override
     @Cacheable(value = "materias")
     public List<MateriaDTO> obtenerTodasLasMaterias() {
-        return materiaRepository.findAll().stream().map(this::mapToDTO).collect(Collectors.toList());
+        // Dos consultas en total, sin importar la cantidad de materias: las materias y la tabla intermedia completa
+        return mapToDTOs(materiaRepository.findAll(), materiaRepository.findAristasPrerequisitos());
+    }
+
+    @Override
+    public PaginaDTO<MateriaDTO> obtenerMateriasPaginadas(String cursor, Integer tamano) {
+        // Se lee una fila más que el tamaño de página para saber si existe una página siguiente
+        int tamanoPagina = Paginacion.tamanoPagina(tamano, tamanoPaginaPorDefecto, tamanoPaginaMaximo);
+        long ultimoId = Paginacion.decodificarId(cursor);
+        List<MateriaDTO> filas = mapToDTOs(materiaRepository.findByIdGreaterThanOrderByIdAsc(ultimoId, Limit.of(tamanoPagina + 1)));
+        return Paginacion.armarPagina(filas, tamanoPagina, materia -> Paginacion.codificarCursor(materia.getId()));
     }
 
     @Override
     @Cacheable(value = "materia", key = "#id")
     public MateriaDTO obtenerMateriaPorId(Long id) {
-        return materiaRepository.findById(id).map(this::mapToDTO).orElse(null);
+        return materiaRepository.findById(id).map(materia -> mapToDTOs(List.of(materia)).get(0)).orElse(null);
     }
 
     @Override
     @Cacheable(value = "materia", key = "#codigoUnico")
     public MateriaDTO obtenerMateriaPorCodigoUnico(String codigoUnico) {
         Materia materia = materiaRepository.findByCodigoUnico(codigoUnico);
-        return mapToDTO(materia);
+        return materia != null ? mapToDTOs(List.of(materia)).get(0) : null;
     }
 
     @Override
     @CachePut(value = "materia", key = "#result.id")
     @CacheEvict(value = "materias", allEntries = true)
+    @Transactional
     public MateriaDTO crearMateria(MateriaDTO materiaDTO) {
         Materia materia = new Materia();
         materia.setNombreMateria(materiaDTO.getNombreMateria());
         materia.setCodigoUnico(materiaDTO.getCodigoUnico());
         materia.setCreditos(materiaDTO.getCreditos());
         // Map other fields as necessary
-        Materia savedMateria = materiaRepository.save(materia);
-        return mapToDTO(savedMateria);
+        asignarPrerequisitos(materia, materiaDTO.getPrerequisitos());
+        // saveAndFlush: las filas de la tabla intermedia deben estar escritas antes de mapear el DTO desde ellas
+        Materia savedMateria = materiaRepository.saveAndFlush(materia);
+        grafoPrerequisitosService.agregarMateria(savedMateria.getId(), idsDe(savedMateria.getPrerequisitos())); // Nodo nuevo del grafo
+        descartarMateriasEnCache(idsDe(savedMateria.getPrerequisitos()));
+        return mapToDTOs(List.of(savedMateria)).get(0);
     }
 
     @Override
     @CachePut(value = "materia", key = "#id")
     @CacheEvict(value = "materias", allEntries = true)
+    @Transactional
     public MateriaDTO actualizarMateria(Long id, MateriaDTO materiaDTO) {
-        Materia materia = materiaRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Materia not found"));
+        Materia materia = materiaRepository.findByIdParaActualizar(id).orElseThrow(() -> new IllegalArgumentException("Materia not found"));
         materia.setNombreMateria(materiaDTO.getNombreMateria());
         materia.setCodigoUnico(materiaDTO.getCodigoUnico());
         materia.setCreditos(materiaDTO.getCreditos());
         // Map other fields as necessary
-        Materia updatedMateria = materiaRepository.save(materia);
-        return mapToDTO(updatedMateria);
+        Set<Long> anteriores = idsDe(materia.getPrerequisitos());
+        asignarPrerequisitos(materia, materiaDTO.getPrerequisitos());
+        Materia updatedMateria = materiaRepository.saveAndFlush(materia);
+        Set<Long> actuales = idsDe(updatedMateria.getPrerequisitos());
+        Set<Long> agregados = new HashSet<>(actuales);
+        agregados.removeAll(anteriores);
+        Set<Long> quitados = new HashSet<>(anteriores);
+        quitados.removeAll(actuales);
+        grafoPrerequisitosService.actualizarPrerequisitos(id, agregados, quitados);
+        Set<Long> modificados = new HashSet<>(agregados);
+        modificados.addAll(quitados);
+        descartarMateriasEnCache(modificados);
+        return mapToDTOs(List.of(updatedMateria)).get(0);
     }
 
     @Override
     @CacheEvict(value = {"materia", "materias"}, allEntries = true)
+    @Transactional
     public void eliminarMateria(Long id) {
         materiaRepository.deleteById(id);
+        grafoPrerequisitosService.recargar();
+    }
+
+    // Reemplaza los prerequisitos de la materia por los IDs indicados (null = no modificarlos).
+    // Cada prerequisito nuevo se verifica de a uno: un ciclo simple que pase por esta materia solo puede usar
+    // una de sus aristas salientes. Una materia nueva no tiene dependientes, así que no puede cerrar un ciclo.
+    private void asignarPrerequisitos(Materia materia, List<Long> prerequisitoIds) {
+        if (prerequisitoIds == null) {
+            return;
+        }
+        if (materia.getId() != null) {
+            Set<Long> nuevos = new HashSet<>(prerequisitoIds);
+            nuevos.removeAll(idsDe(materia.getPrerequisitos()));
+            // Rechazo rápido con el índice en memoria, sin bloqueos
+            for (Long prerequisitoId : nuevos) {
+                if (grafoPrerequisitosService.formariaCiclo(materia.getId(), prerequisitoId)) {
+                    throw new IllegalArgumentException("Agregar la materia " + prerequisitoId + " como prerequisito formaría un ciclo");
+                }
+            }
+            // El índice puede no incluir cambios aún sin confirmar de otra transacción o de otra instancia:
+            // con las modificaciones serializadas, se vuelve a verificar contra los datos confirmados
+            if (!nuevos.isEmpty()) {
+                materiaRepository.bloquearModificacionPrerequisitos();
+                for (Long prerequisitoId : nuevos) {
+                    if (materiaRepository.existeCaminoDePrerequisitos(prerequisitoId, materia.getId())) {
+                        throw new IllegalArgumentException("Agregar la materia " + prerequisitoId + " como prerequisito formaría un ciclo");
+                    }
+                }
+            }
+        }
+        List<Materia> prerequisitos = materiaRepository.findAllById(prerequisitoIds);
+        if (prerequisitos.size() != new HashSet<>(prerequisitoIds).size()) {
+            throw new IllegalArgumentException("Alguno de los prerequisitos indicados no existe");
+        }
+        materia.setPrerequisitos(new ArrayList<>(prerequisitos));
+    }
+
+    // Si cambiaron prerequisitos, también cambió "esPrerequisitoDe" de esas materias,
+    // por lo que se descartan las materias individuales en caché.
+    private void descartarMateriasEnCache(Set<Long> materiasModificadas) {
+        if (!materiasModificadas.isEmpty()) {
+            Cache cache = cacheManager.getCache("materia");
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    private static Set<Long> idsDe(List<Materia> materias) {
+        if (materias == null) {
+            return Collections.emptySet();
+        }
+        Set<Long> ids = new HashSet<>();
+        materias.forEach(materia -> ids.add(materia.getId()));
+        return ids;
     }
 }
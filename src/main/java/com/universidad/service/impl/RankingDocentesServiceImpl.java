@@ -0,0 +1,113 @@
+package com.universidad.service.impl;
+
+import com.universidad.dto.PercentilesDepartamentoDTO;
+import com.universidad.dto.RankingDocenteDTO;
+import com.universidad.repository.EstadisticaDocenteRepository;
+import com.universidad.service.IRankingDocentesService;
+import com.universidad.service.ranking.RankingDocentes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Ranking de docentes por departamento. Las consultas leen una instantánea inmutable sin bloqueos; la instantánea
+ * se reconstruye periódicamente con una sola consulta sobre estadistica_docente (un agregado por docente),
+ * sin leer evaluaciones.
+ */
+@Service
+public class RankingDocentesServiceImpl implements IRankingDocentesService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RankingDocentesServiceImpl.class);
+
+    private final EstadisticaDocenteRepository estadisticaDocenteRepository;
+
+    // Cantidad mínima de evaluaciones para que un docente aparezca en el ranking
+    @Value("${app.ranking.minimo-evaluaciones:5}")
+    private long minimoEvaluaciones;
+
+    private volatile RankingDocentes ranking;
+
+    public RankingDocentesServiceImpl(EstadisticaDocenteRepository estadisticaDocenteRepository) {
+        this.estadisticaDocenteRepository = estadisticaDocenteRepository;
+    }
+
+    @Override
+    public Optional<List<RankingDocenteDTO>> obtenerMejores(String departamento, int cantidad) {
+        RankingDocentes actual = obtenerRanking();
+        if (!actual.contieneDepartamento(departamento)) {
+            return Optional.empty();
+        }
+        return Optional.of(actual.primeros(departamento, cantidad).stream().map(this::mapToDTO).collect(Collectors.toList()));
+    }
+
+    @Override
+    public Optional<RankingDocenteDTO> obtenerPosicion(Long docenteId) {
+        if (docenteId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(obtenerRanking().posicionDe(docenteId)).map(this::mapToDTO);
+    }
+
+    @Override
+    public Optional<PercentilesDepartamentoDTO> obtenerPercentiles(String departamento, List<Integer> percentiles) {
+        RankingDocentes actual = obtenerRanking();
+        if (!actual.contieneDepartamento(departamento)) {
+            return Optional.empty();
+        }
+        Map<Integer, Double> valores = new LinkedHashMap<>();
+        for (Integer p : percentiles) {
+            if (p == null || p < 0 || p > 100) {
+                throw new IllegalArgumentException("Los percentiles deben estar entre 0 y 100");
+            }
+            valores.put(p, actual.valorPercentil(departamento, p));
+        }
+        return Optional.of(PercentilesDepartamentoDTO.builder()
+                .departamento(departamento)
+                .total(actual.total(departamento))
+                .percentiles(valores)
+                .build());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.ranking.intervalo-recalculo-ms:300000}")
+    public void recargar() {
+        long inicio = System.currentTimeMillis();
+        RankingDocentes nuevo = RankingDocentes.construir(estadisticaDocenteRepository.findPromediosConDepartamento(minimoEvaluaciones));
+        ranking = nuevo;
+        logger.debug("Ranking de docentes recalculado: {} departamentos en {} ms",
+                nuevo.departamentos().size(), System.currentTimeMillis() - inicio);
+    }
+
+    private RankingDocentes obtenerRanking() {
+        RankingDocentes actual = ranking;
+        if (actual == null) {
+            synchronized (this) {
+                if (ranking == null) {
+                    recargar();
+                }
+                actual = ranking;
+            }
+        }
+        return actual;
+    }
+
+    private RankingDocenteDTO mapToDTO(RankingDocentes.Posicion posicion) {
+        return RankingDocenteDTO.builder()
+                .docenteId(posicion.docenteId())
+                .departamento(posicion.departamento())
+                .posicion(posicion.posicion())
+                .total(posicion.total())
+                .promedio(posicion.promedio())
+                .cantidadEvaluaciones(posicion.cantidadEvaluaciones())
+                .percentil(posicion.percentil())
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package com.universidad.service.impl;
+
+import com.universidad.dto.TendenciaPuntoDTO;
+import com.universidad.repository.EvaluacionRollupRepository;
+import com.universidad.service.ITendenciaEvaluacionesService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Tendencias de evaluaciones leídas solo de los agregados por día y por mes, sin recorrer evaluaciones:
+ * el costo depende de la cantidad de períodos consultados, no del tamaño del historial.
+ * Los agregados diarios se mantienen en cada alta y baja de evaluación; los anteriores al período de
+ * retención se compactan en agregados mensuales en segundo plano.
+ */
+@Service
+public class TendenciaEvaluacionesServiceImpl implements ITendenciaEvaluacionesService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TendenciaEvaluacionesServiceImpl.class);
+
+    private final EvaluacionRollupRepository evaluacionRollupRepository;
+
+    // Días hacia atrás que se conservan con granularidad diaria
+    @Value("${app.rollup.retencion-diaria-dias:90}")
+    private int retencionDiariaDias;
+
+    public TendenciaEvaluacionesServiceImpl(EvaluacionRollupRepository evaluacionRollupRepository) {
+        this.evaluacionRollupRepository = evaluacionRollupRepository;
+    }
+
+    @Override
+    public List<TendenciaPuntoDTO> obtenerTendenciaPorDocente(Long docenteId, Granularidad granularidad, LocalDate desde, LocalDate hasta) {
+        validarRango(desde, hasta);
+        if (granularidad == Granularidad.MES) {
+            return mapToDTOs(evaluacionRollupRepository.findTendenciaMensualPorDocente(docenteId, inicioDeMes(desde), finDeMes(hasta)));
+        }
+        return mapToDTOs(evaluacionRollupRepository.findTendenciaDiariaPorDocente(docenteId, desde, hasta));
+    }
+
+    @Override
+    public List<TendenciaPuntoDTO> obtenerTendenciaPorDepartamento(String departamento, Granularidad granularidad, LocalDate desde, LocalDate hasta) {
+        validarRango(desde, hasta);
+        if (granularidad == Granularidad.MES) {
+            return mapToDTOs(evaluacionRollupRepository.findTendenciaMensualPorDepartamento(departamento, inicioDeMes(desde), finDeMes(hasta)));
+        }
+        return mapToDTOs(evaluacionRollupRepository.findTendenciaDiariaPorDepartamento(departamento, desde, hasta));
+    }
+
+    @Override
+    @Scheduled(cron = "${app.rollup.compactacion-cron:0 30 3 * * *}")
+    public int compactar() {
+        LocalDate limite = LocalDate.now().minusDays(retencionDiariaDias);
+        int meses = evaluacionRollupRepository.compactarAnterioresA(limite);
+        if (meses > 0) {
+            logger.info("Agregados diarios anteriores a {} compactados en {} agregados mensuales", limite, meses);
+        }
+        return meses;
+    }
+
+    private static void validarRango(LocalDate desde, LocalDate hasta) {
+        if (desde == null || hasta == null) {
+            throw new IllegalArgumentException("Debe indicar las fechas desde y hasta");
+        }
+        if (desde.isAfter(hasta)) {
+            throw new IllegalArgumentException("La fecha desde no puede ser posterior a la fecha hasta");
+        }
+    }
+
+    private static LocalDate inicioDeMes(LocalDate fecha) {
+        return fecha.withDayOfMonth(1);
+    }
+
+    private static LocalDate finDeMes(LocalDate fecha) {
+        return fecha.with(TemporalAdjusters.lastDayOfMonth());
+    }
+
+    // Filas (período, cantidad, suma, suma de cuadrados) -> puntos de la tendencia
+    private static List<TendenciaPuntoDTO> mapToDTOs(List<Object[]> filas) {
+        return filas.stream().map(fila -> {
+            long cantidad = ((Number) fila[1]).longValue();
+            double promedio = ((Number) fila[2]).doubleValue() / cantidad;
+            double varianza = ((Number) fila[3]).doubleValue() / cantidad - promedio * promedio;
+            return TendenciaPuntoDTO.builder()
+                    .periodo(aFecha(fila[0]))
+                    .cantidad(cantidad)
+                    .promedio(promedio)
+                    .desviacionEstandar(Math.sqrt(Math.max(varianza, 0)))
+                    .build();
+        }).collect(Collectors.toList());
+    }
+
+    private static LocalDate aFecha(Object valor) {
+        if (valor instanceof java.sql.Date fecha) {
+            return fecha.toLocalDate();
+        }
+        return (LocalDate) valor;
+    }
+}
@@ -0,0 +1,193 @@
+package com.universidad.service.ranking;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Índice inmutable del ranking de docentes por departamento según el promedio de sus evaluaciones.
+ * Cada departamento guarda sus docentes en arreglos paralelos ordenados de mayor a menor promedio
+ * (a igual promedio, primero el de más evaluaciones y luego el de menor ID), por lo que:
+ * - los N primeros se leen directamente del inicio de los arreglos,
+ * - la posición y el percentil de un docente se obtienen con búsqueda binaria (O(log n)),
+ * - el valor de cualquier percentil del departamento se lee en O(1).
+ */
+public final class RankingDocentes {
+
+    private final Map<String, Departamento> departamentos;
+    // ID de docente -> departamento en el que está rankeado y su índice dentro de él
+    private final Map<Long, Ubicacion> ubicaciones;
+
+    private RankingDocentes(Map<String, Departamento> departamentos) {
+        this.departamentos = departamentos;
+        this.ubicaciones = new HashMap<>();
+        departamentos.values().forEach(departamento -> {
+            for (int i = 0; i < departamento.ids.length; i++) {
+                ubicaciones.put(departamento.ids[i], new Ubicacion(departamento, i));
+            }
+        });
+    }
+
+    /**
+     * Construye el índice a partir de filas (docenteId, departamento, cantidad de evaluaciones, suma de puntuaciones).
+     */
+    public static RankingDocentes construir(List<Object[]> filas) {
+        Map<String, List<Entrada>> entradas = new HashMap<>();
+        for (Object[] fila : filas) {
+            long id = ((Number) fila[0]).longValue();
+            String departamento = (String) fila[1];
+            long cantidad = ((Number) fila[2]).longValue();
+            long suma = ((Number) fila[3]).longValue();
+            if (cantidad > 0) {
+                entradas.computeIfAbsent(departamento, d -> new ArrayList<>())
+                        .add(new Entrada(id, (double) suma / cantidad, cantidad));
+            }
+        }
+        Map<String, Departamento> departamentos = new HashMap<>();
+        entradas.forEach((nombre, lista) -> {
+            Entrada[] ordenadas = lista.toArray(new Entrada[0]);
+            Arrays.sort(ordenadas, RankingDocentes::comparar);
+            departamentos.put(nombre, new Departamento(nombre, ordenadas));
+        });
+        return new RankingDocentes(departamentos);
+    }
+
+    public static RankingDocentes vacio() {
+        return new RankingDocentes(Collections.emptyMap());
+    }
+
+    public Set<String> departamentos() {
+        return Collections.unmodifiableSet(departamentos.keySet());
+    }
+
+    public boolean contieneDepartamento(String departamento) {
+        return departamentos.containsKey(departamento);
+    }
+
+    public boolean contieneDocente(long docenteId) {
+        return ubicaciones.containsKey(docenteId);
+    }
+
+    /**
+     * Devuelve los primeros N docentes del departamento (vacío si el departamento no existe).
+     */
+    public List<Posicion> primeros(String departamento, int n) {
+        Departamento d = departamentos.get(departamento);
+        if (d == null) {
+            return Collections.emptyList();
+        }
+        int limite = Math.min(Math.max(n, 0), d.ids.length);
+        List<Posicion> resultado = new ArrayList<>(limite);
+        for (int i = 0; i < limite; i++) {
+            resultado.add(d.posicion(i));
+        }
+        return resultado;
+    }
+
+    /**
+     * Devuelve la posición del docente en el ranking de su departamento, o null si no está rankeado.
+     */
+    public Posicion posicionDe(long docenteId) {
+        Ubicacion ubicacion = ubicaciones.get(docenteId);
+        if (ubicacion == null) {
+            return null;
+        }
+        return ubicacion.departamento().posicion(ubicacion.indice());
+    }
+
+    /**
+     * Promedio en el percentil p (0 a 100) del departamento, por el método del rango más cercano,
+     * o null si el departamento no existe.
+     */
+    public Double valorPercentil(String departamento, double p) {
+        Departamento d = departamentos.get(departamento);
+        if (d == null) {
+            return null;
+        }
+        int n = d.ids.length;
+        int rango = Math.max(1, (int) Math.ceil(p / 100.0 * n));
+        // Los arreglos están ordenados de mayor a menor: el rango k en orden ascendente es el índice n - k
+        return d.promedios[n - Math.min(rango, n)];
+    }
+
+    public int total(String departamento) {
+        Departamento d = departamentos.get(departamento);
+        return d != null ? d.ids.length : 0;
+    }
+
+    // Mayor promedio primero; a igual promedio, más evaluaciones primero; luego menor ID
+    private static int comparar(Entrada a, Entrada b) {
+        int porPromedio = Double.compare(b.promedio, a.promedio);
+        if (porPromedio != 0) {
+            return porPromedio;
+        }
+        int porCantidad = Long.compare(b.cantidad, a.cantidad);
+        return porCantidad != 0 ? porCantidad : Long.compare(a.id, b.id);
+    }
+
+    private record Entrada(long id, double promedio, long cantidad) {
+    }
+
+    private record Ubicacion(Departamento departamento, int indice) {
+    }
+
+    /**
+     * Ubicación de un docente en el ranking de su departamento.
+     * @param posicion posición empezando en 1
+     * @param percentil porcentaje de docentes del departamento con menor promedio (los empates cuentan la mitad)
+     */
+    public record Posicion(long docenteId, String departamento, int posicion, int total, double promedio,
+                           long cantidadEvaluaciones, double percentil) {
+    }
+
+    // Docentes de un departamento en arreglos paralelos, ordenados de mayor a menor promedio
+    private static final class Departamento {
+        private final String nombre;
+        private final long[] ids;
+        private final double[] promedios;
+        private final long[] cantidades;
+
+        Departamento(String nombre, Entrada[] ordenadas) {
+            this.nombre = nombre;
+            this.ids = new long[ordenadas.length];
+            this.promedios = new double[ordenadas.length];
+            this.cantidades = new long[ordenadas.length];
+            for (int i = 0; i < ordenadas.length; i++) {
+                ids[i] = ordenadas[i].id();
+                promedios[i] = ordenadas[i].promedio();
+                cantidades[i] = ordenadas[i].cantidad();
+            }
+        }
+
+        Posicion posicion(int i) {
+            int n = ids.length;
+            // Índices del primer docente con promedio igual y del primero con promedio menor
+            int primeroIgual = primeroConPromedioMenorA(promedios[i], true);
+            int primeroMenor = primeroConPromedioMenorA(promedios[i], false);
+            double menores = n - primeroMenor;
+            double iguales = primeroMenor - primeroIgual;
+            double percentil = 100.0 * (menores + 0.5 * iguales) / n;
+            return new Posicion(ids[i], nombre, i + 1, n, promedios[i], cantidades[i], percentil);
+        }
+
+        // Primer índice cuyo promedio es menor (o menor o igual si incluirIguales) que el dado
+        private int primeroConPromedioMenorA(double promedio, boolean incluirIguales) {
+            int bajo = 0;
+            int alto = promedios.length;
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                boolean cumple = incluirIguales ? promedios[medio] <= promedio : promedios[medio] < promedio;
+                if (cumple) {
+                    alto = medio;
+                } else {
+                    bajo = medio + 1;
+                }
+            }
+            return bajo;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.universidad.util;
+
+import com.universidad.dto.PaginaDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Utilidades para la paginación por cursor (keyset).
+ * El cursor es opaco para el cliente: codifica en Base64 URL-safe los valores de la última fila devuelta
+ * (por ejemplo su ID), de modo que la página siguiente se obtiene con "WHERE id > :ultimoId" y cuesta lo mismo
+ * que la primera, sin importar cuántas páginas se hayan recorrido.
+ */
+public final class Paginacion {
+
+    private static final String SEPARADOR = "|";
+
+    private Paginacion() {
+    }
+
+    /**
+     * Codifica los valores de la última fila de una página en un cursor opaco.
+     */
+    public static String codificarCursor(Object... valores) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                sb.append(SEPARADOR);
+            }
+            sb.append(valores[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor generado por {@link #codificarCursor(Object...)}.
+     * @param partesEsperadas cantidad de valores que debe contener el cursor
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    public static String[] decodificarCursor(String cursor, int partesEsperadas) {
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = texto.split("\\" + SEPARADOR, -1);
+            if (partes.length != partesEsperadas) {
+                throw new IllegalArgumentException("El cursor de paginación no es válido");
+            }
+            return partes;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("El cursor de paginación no es válido", e);
+        }
+    }
+
+    /**
+     * Obtiene el último ID de un cursor de un solo valor; si no hay cursor devuelve 0 (primera página).
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    public static long decodificarId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(decodificarCursor(cursor, 1)[0]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("El cursor de paginación no es válido", e);
+        }
+    }
+
+    /**
+     * Calcula el tamaño de página a aplicar a partir del solicitado por el cliente.
+     * @throws IllegalArgumentException si el tamaño solicitado es menor que 1
+     */
+    public static int tamanoPagina(Integer solicitado, int porDefecto, int maximo) {
+        if (solicitado == null) {
+            return Math.min(porDefecto, maximo);
+        }
+        if (solicitado < 1) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor o igual a 1");
+        }
+        return Math.min(solicitado, maximo);
+    }
+
+    /**
+     * Arma una página a partir de las filas leídas, que deben ser como máximo tamano + 1:
+     * la fila adicional solo indica que existe una página siguiente y no se devuelve.
+     * @param cursorDe función que genera el cursor a partir del último elemento de la página
+     */
+    public static <T> PaginaDTO<T> armarPagina(List<T> filas, int tamano, Function<T, String> cursorDe) {
+        boolean hayMas = filas.size() > tamano;
+        List<T> elementos = hayMas ? filas.subList(0, tamano) : filas;
+        String siguienteCursor = hayMas ? cursorDe.apply(elementos.get(elementos.size() - 1)) : null;
+        return new PaginaDTO<>(elementos, siguienteCursor, tamano);
+    }
+}
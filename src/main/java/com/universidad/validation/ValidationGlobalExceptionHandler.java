@@ -1,5 +1,7 @@
 package com.universidad.validation;
 
+import com.universidad.registro.exception.RegistroGlobalExceptionHandler.DemasiadasSolicitudesException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -17,10 +19,10 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
- * Maneja excepciones para la capa de "validation".
- * Aplica solo a controladores en com.universidad.validation.*
+ * Maneja las excepciones de los controladores de la aplicación (com.universidad.*).
+ * Los controladores de com.universidad.registro usan primero RegistroGlobalExceptionHandler.
  */
-@RestControllerAdvice(value = "validationGlobalExceptionHandler")
+@RestControllerAdvice(basePackages = "com.universidad")
 public class ValidationGlobalExceptionHandler {
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -127,6 +129,31 @@ public class ValidationGlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(apiError);
     }
 
+    @ExceptionHandler(org.springframework.dao.OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleOptimisticLockingFailure(org.springframework.dao.OptimisticLockingFailureException ex) {
+        ApiError apiError = new ApiError(
+                HttpStatus.CONFLICT.value(),
+                "El recurso fue modificado por otro usuario. Vuelva a consultarlo e intente nuevamente.",
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(apiError);
+    }
+
+    // Rechazo por saturación (por ejemplo, la cola de ingesta de evaluaciones llena): el cliente puede reintentar
+    @ExceptionHandler(DemasiadasSolicitudesException.class)
+    public ResponseEntity<ApiError> handleDemasiadasSolicitudes(DemasiadasSolicitudesException ex) {
+        ApiError apiError = new ApiError(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Demasiadas solicitudes",
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getReintentarEnSegundos()))
+                .body(apiError);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiError> handleIllegalArgumentException(IllegalArgumentException ex) {
         ApiError apiError = new ApiError(
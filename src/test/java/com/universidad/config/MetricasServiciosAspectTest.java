@@ -0,0 +1,72 @@
+package com.universidad.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MetricasServiciosAspectTest {
+
+    private MeterRegistry registro;
+    private ServicioDePrueba servicio;
+
+    @BeforeEach
+    void setUp() {
+        registro = new SimpleMeterRegistry();
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(new ServicioDePrueba());
+        fabrica.setProxyTargetClass(true);
+        fabrica.addAspect(new MetricasServiciosAspect(registro));
+        servicio = fabrica.getProxy();
+    }
+
+    @Test
+    void mideLasLlamadasPublicasConSuResultado() {
+        servicio.consultar();
+        servicio.consultar();
+        assertThatThrownBy(() -> servicio.fallar()).isInstanceOf(IllegalStateException.class);
+
+        assertThat(registro.get(MetricasServiciosAspect.TIEMPO).tag("metodo", "consultar").tag("exception", "none")
+                .timer().count()).isEqualTo(2);
+        assertThat(registro.get(MetricasServiciosAspect.TIEMPO).tag("metodo", "fallar")
+                .tag("exception", "IllegalStateException").timer().count()).isEqualTo(1);
+        assertThat(registro.get(MetricasServiciosAspect.ERRORES).tag("metodo", "fallar").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void noMideTareasProgramadasNiExportacionesEnStreaming() throws Exception {
+        servicio.recalcular();
+        servicio.exportar(new ByteArrayOutputStream());
+
+        assertThat(registro.find(MetricasServiciosAspect.TIEMPO).tag("metodo", "recalcular").timer()).isNull();
+        assertThat(registro.find(MetricasServiciosAspect.TIEMPO).tag("metodo", "exportar").timer()).isNull();
+    }
+
+    @Service
+    static class ServicioDePrueba {
+
+        public String consultar() {
+            return "ok";
+        }
+
+        public void fallar() {
+            throw new IllegalStateException("falla de prueba");
+        }
+
+        @Scheduled(fixedDelay = 60000)
+        public void recalcular() {
+        }
+
+        public void exportar(OutputStream salida) throws Exception {
+            salida.write('x');
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.universidad.controller;
+
+import com.universidad.model.Estudiante;
+import com.universidad.repository.EstudianteRepository;
+import com.universidad.service.IEstudianteImportacionService;
+import com.universidad.service.cache.EstudianteVistaCache;
+import com.universidad.service.impl.EstudianteServiceImpl;
+import com.universidad.validation.EstudianteValidator;
+import com.universidad.validation.ValidationGlobalExceptionHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class EstudianteControllerTest {
+
+    private EstudianteRepository estudianteRepository;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        estudianteRepository = mock(EstudianteRepository.class);
+        EstudianteServiceImpl estudianteService = new EstudianteServiceImpl(estudianteRepository,
+                new EstudianteValidator(estudianteRepository), mock(EstudianteVistaCache.class));
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new EstudianteController(estudianteService, mock(IEstudianteImportacionService.class)))
+                .setControllerAdvice(new ValidationGlobalExceptionHandler())
+                .build();
+
+        Estudiante estudiante = Estudiante.builder()
+                .id(7L)
+                .version(3L)
+                .nombre("Ana")
+                .apellido("Pérez")
+                .email("ana@uni.edu")
+                .fechaNacimiento(LocalDate.of(2000, 1, 1))
+                .numeroInscripcion("INS-00001")
+                .estado("activo")
+                .build();
+        when(estudianteRepository.findById(7L)).thenReturn(Optional.of(estudiante));
+        when(estudianteRepository.save(any(Estudiante.class))).thenAnswer(invocacion -> invocacion.getArgument(0));
+    }
+
+    @Test
+    void actualizarConVersionDesactualizadaDevuelve409() throws Exception {
+        mockMvc.perform(put("/api/estudiantes/7")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(cuerpo(1L)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+
+        verify(estudianteRepository, never()).save(any());
+    }
+
+    @Test
+    void actualizarConLaVersionVigenteSeAcepta() throws Exception {
+        mockMvc.perform(put("/api/estudiantes/7")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(cuerpo(3L)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nombre").value("Ana María"));
+    }
+
+    private static String cuerpo(long version) {
+        return "{\"version\":" + version + ",\"nombre\":\"Ana María\",\"apellido\":\"Pérez\",\"email\":\"ana@uni.edu\","
+                + "\"fechaNacimiento\":\"2000-01-01\",\"numeroInscripcion\":\"INS-00001\",\"estado\":\"activo\","
+                + "\"usuarioAlta\":\"admin\",\"fechaAlta\":\"2024-01-01\"}";
+    }
+}
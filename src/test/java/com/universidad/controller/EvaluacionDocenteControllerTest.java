@@ -0,0 +1,88 @@
+package com.universidad.controller;
+
+import com.universidad.dto.EvaluacionDocenteDTO;
+import com.universidad.repository.EstadisticaDocenteRepository;
+import com.universidad.repository.EvaluacionDocenteBatchRepository;
+import com.universidad.repository.EvaluacionRollupRepository;
+import com.universidad.service.impl.EvaluacionIngestaServiceImpl;
+import com.universidad.validation.ValidationGlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class EvaluacionDocenteControllerTest {
+
+    private final EvaluacionDocenteBatchRepository batchRepository = mock(EvaluacionDocenteBatchRepository.class);
+    private EvaluacionIngestaServiceImpl ingesta;
+    private boolean iniciada;
+
+    // Cola de un lugar; el hilo de ingesta solo se inicia en las pruebas que lo necesitan
+    private MockMvc mockMvc() {
+        ingesta = new EvaluacionIngestaServiceImpl(batchRepository, mock(EstadisticaDocenteRepository.class),
+                mock(EvaluacionRollupRepository.class), mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), 1, 10, 10, 3);
+        EvaluacionDocenteController controller = new EvaluacionDocenteController();
+        ReflectionTestUtils.setField(controller, "evaluacionIngestaService", ingesta);
+        return MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new ValidationGlobalExceptionHandler())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (iniciada) {
+            ReflectionTestUtils.invokeMethod(ingesta, "detener");
+        }
+    }
+
+    @Test
+    void ingestaConLaColaLlenaDevuelve429ConRetryAfter() throws Exception {
+        MockMvc mockMvc = mockMvc();
+        // Sin el hilo de ingesta nadie vacía la cola: la primera evaluación ocupa el único lugar
+        ingesta.encolar(EvaluacionDocenteDTO.builder().docenteId(1L).puntuacion(4).build());
+
+        mockMvc.perform(post("/api/evaluaciones-docente/ingesta")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"docenteId\":1,\"puntuacion\":5}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3"))
+                .andExpect(jsonPath("$.status").value(429));
+    }
+
+    @Test
+    void ingestaDeUnDocenteInexistenteDevuelve404() throws Exception {
+        MockMvc mockMvc = mockMvc();
+        when(batchRepository.buscarDocentesExistentes(anyCollection())).thenReturn(Set.of());
+        ReflectionTestUtils.invokeMethod(ingesta, "iniciar");
+        iniciada = true;
+
+        MvcResult resultado = mockMvc.perform(post("/api/evaluaciones-docente/ingesta")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"docenteId\":99,\"puntuacion\":5}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404));
+    }
+}
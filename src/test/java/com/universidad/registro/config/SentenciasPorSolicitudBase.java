@@ -0,0 +1,198 @@
+package com.universidad.registro.config;
+
+import com.universidad.registro.security.JwtUtils;
+import com.universidad.registro.security.UsuarioPrincipal;
+import jakarta.servlet.http.Cookie;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Base de las pruebas que cuentan las sentencias SQL de una solicitud de la API autenticada con JWT según el
+ * almacén de sesiones (app.sesiones.almacen). MockMvc ejecuta la solicitud en el hilo de la prueba con todos los
+ * filtros de la aplicación (incluido el de Spring Session), por lo que solo se cuentan las sentencias de ese hilo
+ * y no las de las tareas en segundo plano.
+ */
+@SpringBootTest(properties = {
+        // El token lleva roles e ID; no hace falta que el usuario exista en la base de datos
+        "app.jwt.verificacion-activo.habilitada=false",
+        "spring.session.jdbc.initialize-schema=always"
+})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+@Import(SentenciasPorSolicitudBase.ContadorDeSentenciasConfig.class)
+abstract class SentenciasPorSolicitudBase {
+
+    private static final Logger logger = LoggerFactory.getLogger(SentenciasPorSolicitudBase.class);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected JwtUtils jwtUtils;
+
+    @Autowired
+    protected SessionRepository<? extends Session> sessionRepository;
+
+    @Autowired
+    protected ContadorDeSentencias contador;
+
+    /**
+     * Ejecuta GET /api/materias/pagina con un token de acceso (y, si se indica, la cookie de una sesión existente,
+     * como la enviaría un navegador que además abrió una página con sesión) y devuelve las sentencias del hilo.
+     */
+    protected List<String> sentenciasDeSolicitudApi(String idSesion) throws Exception {
+        String token = jwtUtils.generateJwtToken(new UsuarioPrincipal(1L, "admin", "admin@uni.edu", "", true,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        var solicitud = get("/api/materias/pagina").header("Authorization", "Bearer " + token);
+        if (idSesion != null) {
+            solicitud.cookie(new Cookie("SESSION",
+                    Base64.getEncoder().encodeToString(idSesion.getBytes(StandardCharsets.UTF_8))));
+        }
+
+        contador.reiniciar();
+        mockMvc.perform(solicitud).andExpect(status().isOk());
+        List<String> sentencias = contador.sentenciasDe(Thread.currentThread());
+        logger.info("Almacén {}, cookie de sesión: {} -> {} sentencias ({} sobre SPRING_SESSION): {}",
+                getClass().getSimpleName(), idSesion != null, sentencias.size(), deSesion(sentencias).size(), sentencias);
+        return sentencias;
+    }
+
+    protected static List<String> deSesion(List<String> sentencias) {
+        return sentencias.stream().filter(sql -> sql.toUpperCase(Locale.ROOT).contains("SPRING_SESSION")).toList();
+    }
+
+    protected String crearSesion() {
+        return guardarSesionNueva(sessionRepository);
+    }
+
+    private static <S extends Session> String guardarSesionNueva(SessionRepository<S> repositorio) {
+        S sesion = repositorio.createSession();
+        sesion.setAttribute("pagina", "inicio");
+        repositorio.save(sesion);
+        return sesion.getId();
+    }
+
+    /**
+     * Registra el SQL de cada sentencia preparada o ejecutada, con el hilo que la emitió.
+     */
+    static class ContadorDeSentencias {
+        private record Sentencia(Thread hilo, String sql) {
+        }
+
+        private final List<Sentencia> sentencias = new CopyOnWriteArrayList<>();
+
+        void registrar(String sql) {
+            sentencias.add(new Sentencia(Thread.currentThread(), sql));
+        }
+
+        void reiniciar() {
+            sentencias.clear();
+        }
+
+        List<String> sentenciasDe(Thread hilo) {
+            return sentencias.stream().filter(s -> s.hilo() == hilo).map(Sentencia::sql).toList();
+        }
+    }
+
+    @TestConfiguration
+    static class ContadorDeSentenciasConfig {
+
+        @Bean
+        ContadorDeSentencias contadorDeSentencias() {
+            return new ContadorDeSentencias();
+        }
+
+        // Envuelve el DataSource para que cada conexión registre sus sentencias en el contador
+        @Bean
+        static BeanPostProcessor dataSourceConContador(ObjectProvider<ContadorDeSentencias> contador) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String nombre) {
+                    if (!(bean instanceof DataSource dataSource) || bean instanceof DelegatingDataSource) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return conContador(super.getConnection(), contador.getObject());
+                        }
+
+                        @Override
+                        public Connection getConnection(String usuario, String clave) throws SQLException {
+                            return conContador(super.getConnection(usuario, clave), contador.getObject());
+                        }
+                    };
+                }
+            };
+        }
+
+        private static Connection conContador(Connection conexion, ContadorDeSentencias contador) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, metodo, argumentos) -> {
+                        String nombre = metodo.getName();
+                        if ((nombre.equals("prepareStatement") || nombre.equals("prepareCall"))
+                                && argumentos != null && argumentos[0] instanceof String sql) {
+                            contador.registrar(sql);
+                        }
+                        try {
+                            Object resultado = metodo.invoke(conexion, argumentos);
+                            return resultado instanceof Statement sentencia && nombre.equals("createStatement")
+                                    ? conContador(sentencia, contador) : resultado;
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+
+        // Las sentencias sin parámetros registran el SQL al ejecutarse
+        private static Statement conContador(Statement sentencia, ContadorDeSentencias contador) {
+            return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{Statement.class},
+                    (proxy, metodo, argumentos) -> {
+                        if (metodo.getName().startsWith("execute") && argumentos != null && argumentos[0] instanceof String sql) {
+                            contador.registrar(sql);
+                        }
+                        try {
+                            return metodo.invoke(sentencia, argumentos);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.universidad.registro.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.session.MapSession;
+import org.springframework.session.MapSessionRepository;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SesionesConfigTest {
+
+    @Test
+    void elAlmacenEnMemoriaNoSuperaElMaximo() {
+        SesionesConfig.SesionesEnMemoria config = new SesionesConfig.SesionesEnMemoria(3);
+        MapSessionRepository repositorio = config.sessionRepository(Duration.ofMinutes(30), new SimpleMeterRegistry());
+
+        for (int i = 0; i < 50; i++) {
+            repositorio.save(repositorio.createSession());
+        }
+
+        assertThat(config.cantidadSesiones()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void lasSesionesInactivasSeDescartanSinTareaDeLimpieza() throws Exception {
+        SesionesConfig.SesionesEnMemoria config = new SesionesConfig.SesionesEnMemoria(100);
+        MapSessionRepository repositorio = config.sessionRepository(Duration.ofMinutes(30), new SimpleMeterRegistry());
+        MapSession breve = repositorio.createSession();
+        breve.setMaxInactiveInterval(Duration.ofMillis(20));
+        repositorio.save(breve);
+        MapSession vigente = repositorio.createSession();
+        repositorio.save(vigente);
+
+        Thread.sleep(100);
+
+        assertThat(config.cantidadSesiones()).isEqualTo(1);
+        assertThat(repositorio.findById(breve.getId())).isNull();
+        assertThat(repositorio.findById(vigente.getId())).isNotNull();
+    }
+}
@@ -0,0 +1,27 @@
+package com.universidad.registro.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Con el almacén jdbc, una solicitud con cookie de sesión lee la sesión y actualiza su último acceso en
+ * SPRING_SESSION aunque la API sea sin estado: el filtro JWT (WebAuthenticationDetails) y el DispatcherServlet
+ * (evento de solicitud atendida) piden la sesión existente con getSession(false). Los valores exactos quedan en el log para compararlos con SesionesMemoriaSentenciasTest.
+ */
+@TestPropertySource(properties = "app.sesiones.almacen=jdbc")
+class SesionesJdbcSentenciasTest extends SentenciasPorSolicitudBase {
+
+    @Test
+    void solicitudConCookieDeSesionConsultaSpringSession() throws Exception {
+        String idSesion = crearSesion();
+
+        assertThat(deSesion(sentenciasDeSolicitudApi(idSesion))).isNotEmpty();
+    }
+
+    @Test
+    void solicitudSinCookieNoConsultaSpringSession() throws Exception {
+        assertThat(deSesion(sentenciasDeSolicitudApi(null))).isEmpty();
+    }
+}
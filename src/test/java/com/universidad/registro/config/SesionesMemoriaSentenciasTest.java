@@ -0,0 +1,26 @@
+package com.universidad.registro.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Con el almacén en memoria, ninguna solicitud de la API emite sentencias sobre SPRING_SESSION, tenga o no
+ * cookie de sesión: la diferencia con SesionesJdbcSentenciasTest es lo que ahorra cada solicitud.
+ */
+@TestPropertySource(properties = "app.sesiones.almacen=memoria")
+class SesionesMemoriaSentenciasTest extends SentenciasPorSolicitudBase {
+
+    @Test
+    void solicitudConCookieDeSesionNoEmiteSentenciasDeSesion() throws Exception {
+        String idSesion = crearSesion();
+
+        assertThat(deSesion(sentenciasDeSolicitudApi(idSesion))).isEmpty();
+    }
+
+    @Test
+    void solicitudSinCookieNoEmiteSentenciasDeSesion() throws Exception {
+        assertThat(deSesion(sentenciasDeSolicitudApi(null))).isEmpty();
+    }
+}
@@ -0,0 +1,151 @@
+package com.universidad.registro.controller;
+
+import com.universidad.registro.exception.RegistroGlobalExceptionHandler;
+import com.universidad.registro.security.JwtUtils;
+import com.universidad.registro.security.LimitadorAutenticacion;
+import com.universidad.registro.security.UsuarioPrincipal;
+import com.universidad.registro.service.UserDetailsServiceImpl;
+import com.universidad.registro.service.VerificacionLoginService;
+import com.universidad.validation.ValidationGlobalExceptionHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AuthControllerTest {
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private final ExecutorService clientes = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        clientes.shutdownNow();
+    }
+
+    @Test
+    void loginConLaColaDeVerificacionLlenaDevuelve429ConRetryAfter() throws Exception {
+        // Un hilo de verificación y una cola de un lugar; la verificación queda bloqueada hasta el final de la prueba
+        AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+        when(authenticationManager.authenticate(any())).thenAnswer(invocacion -> {
+            liberar.await();
+            throw new IllegalStateException("no se espera completar la verificación");
+        });
+        MeterRegistry registro = new SimpleMeterRegistry();
+        VerificacionLoginService verificacion = new VerificacionLoginService(authenticationManager, registro, 1, 1, 30_000, 7);
+
+        AuthController controller = new AuthController();
+        controller.verificacionLoginService = verificacion;
+        controller.limitadorAutenticacion = mock(LimitadorAutenticacion.class);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new ValidationGlobalExceptionHandler(), new RegistroGlobalExceptionHandler())
+                .build();
+
+        // Ocupa el hilo y el único lugar de la cola
+        clientes.submit(() -> verificacion.autenticar("ana", "clave"));
+        clientes.submit(() -> verificacion.autenticar("luis", "clave"));
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registro.get("login.cola.tamano").gauge().value() < 1 && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        assertThat(registro.get("login.cola.tamano").gauge().value()).isEqualTo(1);
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"eva\",\"password\":\"clave\"}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "7"))
+                .andExpect(jsonPath("$.message").exists());
+        assertThat(registro.get("login.rechazados").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void refrescoConTokenYaRevocadoPorOtraSolicitudDevuelve401SinEmitirTokens() throws Exception {
+        AuthController controller = controllerDeRefresco(false);
+
+        mockMvcDe(controller).perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"token-de-refresco\"}"))
+                .andExpect(status().isUnauthorized());
+        verify(controller.jwtUtils, never()).generateJwtToken(any(UsuarioPrincipal.class));
+        verify(controller.jwtUtils, never()).generarTokenDeRefresco(any());
+    }
+
+    @Test
+    void refrescoQueRevocaElTokenEmiteTokensNuevos() throws Exception {
+        AuthController controller = controllerDeRefresco(true);
+        when(controller.jwtUtils.generateJwtToken(any(UsuarioPrincipal.class))).thenReturn("acceso-nuevo");
+        when(controller.jwtUtils.generarTokenDeRefresco(any())).thenReturn("refresco-nuevo");
+
+        mockMvcDe(controller).perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"token-de-refresco\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("acceso-nuevo"))
+                .andExpect(jsonPath("$.refreshToken").value("refresco-nuevo"));
+    }
+
+    // Controlador cuyo token de refresco es válido; "revocado" indica si esta solicitud gana la revocación
+    private static AuthController controllerDeRefresco(boolean revocado) {
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("ana");
+        UsuarioPrincipal ana = new UsuarioPrincipal(5L, "ana", "ana@uni.edu", "hash", true,
+                List.of(new SimpleGrantedAuthority("ROLE_ESTUDIANTE")));
+
+        AuthController controller = new AuthController();
+        controller.jwtUtils = mock(JwtUtils.class);
+        controller.userDetailsService = mock(UserDetailsServiceImpl.class);
+        when(controller.jwtUtils.verificarTokenDeRefresco("token-de-refresco")).thenReturn(claims);
+        when(controller.jwtUtils.revocarToken("token-de-refresco")).thenReturn(revocado);
+        when(controller.userDetailsService.loadUserByUsername("ana")).thenReturn(ana);
+        return controller;
+    }
+
+    private static MockMvc mockMvcDe(AuthController controller) {
+        return MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new ValidationGlobalExceptionHandler(), new RegistroGlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void loginQueSuperaElLimiteDeFrecuenciaDevuelve429SinVerificarCredenciales() throws Exception {
+        AuthController controller = new AuthController();
+        controller.limitadorAutenticacion = new LimitadorAutenticacion(new SimpleMeterRegistry(), 100, 100, 1, 1, 5, 5,
+                Duration.ofMinutes(10), 1000);
+        controller.verificacionLoginService = mock(VerificacionLoginService.class);
+        // Un intento anterior desde otra IP consume el único token del usuario
+        controller.limitadorAutenticacion.verificarLogin("10.0.0.9", "ana");
+
+        mockMvcDe(controller).perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"ana\",\"password\":\"clave\"}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        verify(controller.verificacionLoginService, never()).autenticar(any(), any());
+    }
+}
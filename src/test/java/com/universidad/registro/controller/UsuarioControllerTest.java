@@ -0,0 +1,67 @@
+package com.universidad.registro.controller;
+
+import com.universidad.registro.model.Usuario;
+import com.universidad.registro.repository.UsuarioRepository;
+import com.universidad.registro.service.UsuarioActivoCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UsuarioControllerTest {
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private UsuarioActivoCache usuarioActivoCache;
+
+    @InjectMocks
+    private UsuarioController usuarioController;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        usuario = Usuario.builder().id(5L).username("ana").email("ana@uni.edu").nombre("Ana").apellido("Pérez")
+                .activo(true).build();
+        when(usuarioRepository.findById(5L)).thenReturn(Optional.of(usuario));
+        when(usuarioRepository.save(any(Usuario.class))).thenAnswer(invocacion -> invocacion.getArgument(0));
+    }
+
+    @Test
+    void desactivarDescartaElEstadoRecordado() {
+        usuarioController.deactivateUsuario(5L);
+
+        assertThat(usuario.isActivo()).isFalse();
+        verify(usuarioActivoCache).invalidar("ana");
+    }
+
+    @Test
+    void actualizarDescartaElEstadoRecordadoSiCambiaActivo() {
+        usuarioController.updateUsuario(5L, Usuario.builder().nombre("Ana").apellido("Pérez").email("ana@uni.edu")
+                .activo(false).build());
+
+        verify(usuarioActivoCache).invalidar("ana");
+    }
+
+    @Test
+    void actualizarSinCambiarActivoConservaElEstadoRecordado() {
+        usuarioController.updateUsuario(5L, Usuario.builder().nombre("Ana María").apellido("Pérez").email("ana@uni.edu")
+                .activo(true).build());
+
+        verify(usuarioActivoCache, never()).invalidar(anyString());
+    }
+}
@@ -0,0 +1,79 @@
+package com.universidad.registro.security;
+
+import com.universidad.registro.exception.RegistroGlobalExceptionHandler.DemasiadasSolicitudesException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LimitadorAutenticacionTest {
+
+    private final MeterRegistry registro = new SimpleMeterRegistry();
+
+    // Límites por IP y por usuario configurables; el de registro por IP es de 2 por minuto
+    private LimitadorAutenticacion limitador(int capacidadIp, int capacidadUsuario, int porMinuto) {
+        return new LimitadorAutenticacion(registro, capacidadIp, porMinuto, capacidadUsuario, porMinuto,
+                2, 2, Duration.ofMinutes(10), 1000);
+    }
+
+    @Test
+    void elLimitePorUsuarioIgnoraMayusculasYNoAfectaAOtrosUsuarios() {
+        LimitadorAutenticacion limitador = limitador(100, 2, 2);
+
+        limitador.verificarLogin("10.0.0.1", "ana");
+        limitador.verificarLogin("10.0.0.2", "Ana");
+
+        assertThatThrownBy(() -> limitador.verificarLogin("10.0.0.3", "ANA"))
+                .isInstanceOf(DemasiadasSolicitudesException.class)
+                .satisfies(e -> assertThat(((DemasiadasSolicitudesException) e).getReintentarEnSegundos()).isBetween(1L, 31L));
+        assertThatCode(() -> limitador.verificarLogin("10.0.0.3", "luis")).doesNotThrowAnyException();
+        assertThat(registro.get("auth.limite.rechazados").tag("clave", "usuario").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void elLimitePorIpAlcanzaATodosLosUsuariosDeEsaIp() {
+        LimitadorAutenticacion limitador = limitador(2, 100, 2);
+
+        limitador.verificarLogin("10.0.0.1", "ana");
+        limitador.verificarLogin("10.0.0.1", "luis");
+
+        assertThatThrownBy(() -> limitador.verificarLogin("10.0.0.1", "eva"))
+                .isInstanceOf(DemasiadasSolicitudesException.class);
+        assertThatCode(() -> limitador.verificarLogin("10.0.0.2", "eva")).doesNotThrowAnyException();
+        assertThat(registro.get("auth.limite.rechazados").tag("clave", "ip").tag("endpoint", "login").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void elRegistroTieneSuPropiaCubetaPorIp() {
+        LimitadorAutenticacion limitador = limitador(100, 100, 100);
+        limitador.verificarLogin("10.0.0.1", "ana");
+
+        limitador.verificarRegistro("10.0.0.1");
+        limitador.verificarRegistro("10.0.0.1");
+
+        assertThatThrownBy(() -> limitador.verificarRegistro("10.0.0.1"))
+                .isInstanceOf(DemasiadasSolicitudesException.class);
+        assertThatCode(() -> limitador.verificarLogin("10.0.0.1", "ana")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void laCubetaSeRecargaConElTiempo() throws Exception {
+        // Un token cada 100 ms
+        LimitadorAutenticacion limitador = limitador(1, 100, 600);
+
+        limitador.verificarLogin("10.0.0.1", "ana");
+        assertThatThrownBy(() -> limitador.verificarLogin("10.0.0.1", "ana"))
+                .isInstanceOf(DemasiadasSolicitudesException.class)
+                .satisfies(e -> assertThat(((DemasiadasSolicitudesException) e).getReintentarEnSegundos()).isEqualTo(1L));
+
+        Thread.sleep(250);
+
+        assertThatCode(() -> limitador.verificarLogin("10.0.0.1", "ana")).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,94 @@
+package com.universidad.registro.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RevocacionTokensTest {
+
+    private static final long EN_UNA_HORA = System.currentTimeMillis() + 3_600_000;
+
+    @Test
+    void revocarDevuelveTrueSoloLaPrimeraVez() {
+        RevocacionTokens revocacion = new RevocacionTokens(1024);
+
+        assertThat(revocacion.revocar("jti-1", EN_UNA_HORA)).isTrue();
+        assertThat(revocacion.revocar("jti-1", EN_UNA_HORA)).isFalse();
+        assertThat(revocacion.estaRevocado("jti-1")).isTrue();
+        assertThat(revocacion.cantidadRevocados()).isEqualTo(1);
+    }
+
+    @Test
+    void revocacionesConcurrentesDelMismoTokenTienenUnSoloGanador() throws Exception {
+        RevocacionTokens revocacion = new RevocacionTokens(1024);
+        int hilos = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> resultados = new ArrayList<>();
+            for (int i = 0; i < hilos; i++) {
+                Callable<Boolean> intento = () -> {
+                    largada.await();
+                    return revocacion.revocar("jti-refresco", EN_UNA_HORA);
+                };
+                resultados.add(executor.submit(intento));
+            }
+            largada.countDown();
+            int ganadores = 0;
+            for (Future<Boolean> resultado : resultados) {
+                ganadores += resultado.get() ? 1 : 0;
+            }
+            assertThat(ganadores).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void tokensExpiradosOSinIdNoSeRevocan() {
+        RevocacionTokens revocacion = new RevocacionTokens(1024);
+
+        assertThat(revocacion.revocar("jti-viejo", System.currentTimeMillis() - 1)).isFalse();
+        assertThat(revocacion.revocar(null, EN_UNA_HORA)).isFalse();
+        assertThat(revocacion.estaRevocado("jti-viejo")).isFalse();
+        assertThat(revocacion.estaRevocado(null)).isFalse();
+    }
+
+    @Test
+    void elFiltroNoDaFalsosNegativosYElMapaDescartaLosFalsosPositivos() {
+        // Filtro mínimo (64 bits) para forzar colisiones: los positivos del filtro se confirman en el mapa
+        RevocacionTokens revocacion = new RevocacionTokens(64);
+        for (int i = 0; i < 50; i++) {
+            revocacion.revocar("revocado-" + i, EN_UNA_HORA);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(revocacion.estaRevocado("revocado-" + i)).isTrue();
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertThat(revocacion.estaRevocado("vigente-" + i)).isFalse();
+        }
+    }
+
+    @Test
+    void limpiarExpiradosDescartaLosTokensVencidosYConservaLosVigentes() throws Exception {
+        RevocacionTokens revocacion = new RevocacionTokens(1024);
+        revocacion.revocar("vence-pronto", System.currentTimeMillis() + 20);
+        revocacion.revocar("vigente", EN_UNA_HORA);
+
+        Thread.sleep(50);
+        revocacion.limpiarExpirados();
+
+        assertThat(revocacion.cantidadRevocados()).isEqualTo(1);
+        assertThat(revocacion.estaRevocado("vence-pronto")).isFalse();
+        assertThat(revocacion.estaRevocado("vigente")).isTrue();
+    }
+}
@@ -0,0 +1,133 @@
+package com.universidad.service.grafo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GrafoPrerequisitosTest {
+
+    // 1 <- 2 <- 3 (3 requiere 2, 2 requiere 1) y 10 sin prerequisitos
+    private static GrafoPrerequisitos cadena() {
+        return GrafoPrerequisitos.construir(new long[]{3, 1, 10, 2},
+                List.of(new long[]{2, 1}, new long[]{3, 2}));
+    }
+
+    @Test
+    void formariaCicloDetectaCaminosDirectosEIndirectosYAutoaristas() {
+        GrafoPrerequisitos grafo = cadena();
+
+        assertThat(grafo.formariaCiclo(1, 3)).isTrue();
+        assertThat(grafo.formariaCiclo(1, 2)).isTrue();
+        assertThat(grafo.formariaCiclo(2, 2)).isTrue();
+        assertThat(grafo.formariaCiclo(3, 1)).isFalse();
+        assertThat(grafo.formariaCiclo(10, 3)).isFalse();
+        assertThat(grafo.formariaCiclo(99, 1)).isFalse();
+    }
+
+    @Test
+    void prerequisitosAgregadosEquivalenAReconstruir() {
+        GrafoPrerequisitos incremental = cadena().conPrerequisitosAgregados(1, List.of(10L));
+        GrafoPrerequisitos reconstruido = GrafoPrerequisitos.construir(new long[]{1, 2, 3, 10},
+                List.of(new long[]{2, 1}, new long[]{3, 2}, new long[]{1, 10}));
+
+        assertMismoGrafo(incremental, reconstruido, 1, 2, 3, 10);
+        assertThat(incremental.formariaCiclo(10, 3)).isTrue();
+    }
+
+    @Test
+    void materiaAgregadaConIdMayorActualizaElCierreSinReconstruir() {
+        GrafoPrerequisitos incremental = cadena().conMateriaAgregada(20, List.of(3L, 10L));
+        GrafoPrerequisitos reconstruido = GrafoPrerequisitos.construir(new long[]{1, 2, 3, 10, 20},
+                List.of(new long[]{2, 1}, new long[]{3, 2}, new long[]{20, 3}, new long[]{20, 10}));
+
+        assertMismoGrafo(incremental, reconstruido, 1, 2, 3, 10, 20);
+        assertThat(incremental.cierrePrerequisitos(20)).containsExactly(1L, 2L, 3L, 10L);
+        assertThat(incremental.cierreDependientes(1)).containsExactly(2L, 3L, 20L);
+        assertThat(incremental.formariaCiclo(1, 20)).isTrue();
+    }
+
+    @Test
+    void materiaAgregadaConIdIntermedioConservaElOrdenDelIndice() {
+        GrafoPrerequisitos incremental = cadena().conMateriaAgregada(5, List.of(2L));
+        GrafoPrerequisitos reconstruido = GrafoPrerequisitos.construir(new long[]{1, 2, 3, 5, 10},
+                List.of(new long[]{2, 1}, new long[]{3, 2}, new long[]{5, 2}));
+
+        assertMismoGrafo(incremental, reconstruido, 1, 2, 3, 5, 10);
+    }
+
+    @Test
+    void materiaAgregadaQueCruzaUnLimiteDePalabraAmpliaLasFilas() {
+        long[] ids = new long[64];
+        List<long[]> aristas = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i + 1;
+            if (i > 0) {
+                aristas.add(new long[]{i + 1, i});
+            }
+        }
+        GrafoPrerequisitos grafo = GrafoPrerequisitos.construir(ids, aristas).conMateriaAgregada(65, List.of(64L));
+
+        assertThat(grafo.cierrePrerequisitos(65)).hasSize(64);
+        assertThat(grafo.cierreDependientes(1)).hasSize(64).endsWith(65L);
+        assertThat(grafo.formariaCiclo(1, 65)).isTrue();
+    }
+
+    @Test
+    void materiaAgregadaRechazaIdsRepetidosYPrerequisitosInexistentes() {
+        GrafoPrerequisitos grafo = cadena();
+
+        assertThatThrownBy(() -> grafo.conMateriaAgregada(2, List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> grafo.conMateriaAgregada(20, List.of(99L)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void cierreIncluyePrerequisitosIndirectosEnOrdenDeCursado() {
+        // 4 requiere 2 y 3; 2 y 3 requieren 1
+        GrafoPrerequisitos grafo = GrafoPrerequisitos.construir(new long[]{1, 2, 3, 4},
+                List.of(new long[]{4, 3}, new long[]{4, 2}, new long[]{2, 1}, new long[]{3, 1}));
+
+        assertThat(grafo.cierrePrerequisitos(4)).containsExactly(1L, 2L, 3L);
+        assertThat(grafo.cierrePrerequisitos(1)).isEmpty();
+        assertThat(grafo.cierreDependientes(1)).containsExactly(2L, 3L, 4L);
+        assertThat(grafo.cierreDependientes(4)).isEmpty();
+        assertThatThrownBy(() -> grafo.cierrePrerequisitos(99)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void ordenTopologicoDesempataPorIdYRespetaLosPrerequisitos() {
+        // 5 requiere 30; 7 y 30 no tienen prerequisitos
+        GrafoPrerequisitos grafo = GrafoPrerequisitos.construir(new long[]{30, 7, 5},
+                List.of(new long[]{5, 30}));
+
+        assertThat(grafo.ordenTopologico()).containsExactly(7L, 30L, 5L);
+        assertThat(grafo.tieneCiclos()).isFalse();
+    }
+
+    @Test
+    void ordenTopologicoOmiteLasMateriasDeUnCicloYSusDependientes() {
+        // 2 y 3 se requieren mutuamente; 4 requiere 3; 1 es independiente
+        GrafoPrerequisitos grafo = GrafoPrerequisitos.construir(new long[]{1, 2, 3, 4},
+                List.of(new long[]{2, 3}, new long[]{3, 2}, new long[]{4, 3}));
+
+        assertThat(grafo.tieneCiclos()).isTrue();
+        assertThat(grafo.ordenTopologico()).containsExactly(1L);
+        assertThat(grafo.cierrePrerequisitos(4)).containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    private static void assertMismoGrafo(GrafoPrerequisitos real, GrafoPrerequisitos esperado, long... ids) {
+        assertThat(real.cantidadMaterias()).isEqualTo(esperado.cantidadMaterias());
+        assertThat(real.cantidadAristas()).isEqualTo(esperado.cantidadAristas());
+        assertThat(real.ordenTopologico()).isEqualTo(esperado.ordenTopologico());
+        for (long id : ids) {
+            assertThat(Set.copyOf(real.cierrePrerequisitos(id))).isEqualTo(Set.copyOf(esperado.cierrePrerequisitos(id)));
+            assertThat(Set.copyOf(real.cierreDependientes(id))).isEqualTo(Set.copyOf(esperado.cierreDependientes(id)));
+        }
+    }
+}
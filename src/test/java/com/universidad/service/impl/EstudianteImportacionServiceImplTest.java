@@ -0,0 +1,151 @@
+package com.universidad.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universidad.dto.EstudianteDTO;
+import com.universidad.dto.ImportacionResultadoDTO;
+import com.universidad.repository.EstudianteBatchRepository;
+import com.universidad.repository.EstudianteRepository;
+import com.universidad.service.IEstudianteImportacionService.Formato;
+import com.universidad.service.cache.EstudianteVistaCache;
+import com.universidad.validation.EstudianteValidator;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EstudianteImportacionServiceImplTest {
+
+    private static final String ENCABEZADO =
+            "nombre,apellido,email,fechaNacimiento,numeroInscripcion,estado,usuarioAlta,fechaAlta";
+
+    private EstudianteBatchRepository estudianteBatchRepository;
+    private EstudianteImportacionServiceImpl servicio;
+    private final List<List<EstudianteDTO>> lotesInsertados = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        estudianteBatchRepository = mock(EstudianteBatchRepository.class);
+        when(estudianteBatchRepository.buscarExistentes(anyCollection(), anyCollection()))
+                .thenReturn(new EstudianteBatchRepository.Existentes(new HashSet<>(), new HashSet<>()));
+        doAnswer(invocacion -> {
+            List<EstudianteDTO> lote = invocacion.getArgument(0);
+            lotesInsertados.add(List.copyOf(lote));
+            return null;
+        }).when(estudianteBatchRepository).insertar(any());
+
+        servicio = new EstudianteImportacionServiceImpl(
+                estudianteBatchRepository,
+                new EstudianteValidator(mock(EstudianteRepository.class)),
+                mock(EstudianteVistaCache.class),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper().findAndRegisterModules(),
+                mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(servicio, "tamanoLote", 1000);
+    }
+
+    @Test
+    void csvAdmiteValoresEntreComillasConComasYComillasEscapadas() throws IOException {
+        ImportacionResultadoDTO resultado = importar(Formato.CSV,
+                ENCABEZADO,
+                "\"Ana, María\",\"O\"\"Brien\",ana@uni.edu,2000-01-01,INS-00001, activo ,admin,2024-01-01");
+
+        assertThat(resultado.getErrores()).isEmpty();
+        assertThat(resultado.getInsertados()).isEqualTo(1);
+        EstudianteDTO estudiante = lotesInsertados.get(0).get(0);
+        assertThat(estudiante.getNombre()).isEqualTo("Ana, María");
+        assertThat(estudiante.getApellido()).isEqualTo("O\"Brien");
+        assertThat(estudiante.getEstado()).isEqualTo("activo");
+    }
+
+    @Test
+    void csvRechazaFilasConCantidadDeColumnasDistintaAlEncabezado() throws IOException {
+        ImportacionResultadoDTO resultado = importar(Formato.CSV,
+                ENCABEZADO,
+                "Ana,Pérez,ana@uni.edu,2000-01-01,INS-00001,activo,admin");
+
+        assertThat(resultado.getTotalFilas()).isEqualTo(1);
+        assertThat(resultado.getInsertados()).isZero();
+        assertThat(resultado.getErrores()).singleElement().satisfies(error -> {
+            assertThat(error.getFila()).isEqualTo(2);
+            assertThat(error.getErrores()).containsKey("fila");
+        });
+        verify(estudianteBatchRepository, never()).insertar(any());
+    }
+
+    @Test
+    void ndjsonIgnoraLineasVaciasEInformaLasFilasMalFormadas() throws IOException {
+        ImportacionResultadoDTO resultado = importar(Formato.NDJSON,
+                json("ana@uni.edu", "INS-00001"),
+                "",
+                "{no es json",
+                json("luis@uni.edu", "INS-00002"));
+
+        assertThat(resultado.getTotalFilas()).isEqualTo(3);
+        assertThat(resultado.getInsertados()).isEqualTo(2);
+        assertThat(resultado.getErrores()).singleElement().satisfies(error -> assertThat(error.getFila()).isEqualTo(3));
+    }
+
+    @Test
+    void rechazaDuplicadosDentroDelArchivoYLosYaExistentes() throws IOException {
+        when(estudianteBatchRepository.buscarExistentes(anyCollection(), anyCollection()))
+                .thenReturn(new EstudianteBatchRepository.Existentes(new HashSet<>(Set.of("luis@uni.edu")), new HashSet<>()));
+
+        ImportacionResultadoDTO resultado = importar(Formato.NDJSON,
+                json("ana@uni.edu", "INS-00001"),
+                json("ana@uni.edu", "INS-00002"),
+                json("luis@uni.edu", "INS-00003"));
+
+        assertThat(resultado.getInsertados()).isEqualTo(1);
+        assertThat(resultado.getErrores()).hasSize(2);
+        assertThat(resultado.getErrores().get(0).getErrores()).containsKey("email");
+        assertThat(lotesInsertados).singleElement()
+                .satisfies(lote -> assertThat(lote).extracting(EstudianteDTO::getEmail).containsExactly("ana@uni.edu"));
+    }
+
+    @Test
+    void insertaPorLotesDelTamanoConfigurado() throws IOException {
+        ReflectionTestUtils.setField(servicio, "tamanoLote", 2);
+
+        ImportacionResultadoDTO resultado = importar(Formato.NDJSON,
+                json("a@uni.edu", "INS-00001"),
+                json("b@uni.edu", "INS-00002"),
+                json("c@uni.edu", "INS-00003"),
+                json("d@uni.edu", "INS-00004"),
+                json("e@uni.edu", "INS-00005"));
+
+        assertThat(resultado.getInsertados()).isEqualTo(5);
+        verify(estudianteBatchRepository, times(3)).buscarExistentes(anyCollection(), anyCollection());
+        assertThat(lotesInsertados).extracting(List::size).containsExactly(2, 2, 1);
+    }
+
+    private ImportacionResultadoDTO importar(Formato formato, String... lineas) throws IOException {
+        byte[] contenido = String.join("\n", lineas).getBytes(StandardCharsets.UTF_8);
+        return servicio.importarEstudiantes(new ByteArrayInputStream(contenido), formato);
+    }
+
+    private static String json(String email, String numeroInscripcion) {
+        return "{\"nombre\":\"Ana\",\"apellido\":\"Pérez\",\"email\":\"" + email + "\",\"fechaNacimiento\":\"2000-01-01\","
+                + "\"numeroInscripcion\":\"" + numeroInscripcion + "\",\"estado\":\"activo\",\"usuarioAlta\":\"admin\","
+                + "\"fechaAlta\":\"2024-01-01\"}";
+    }
+}
@@ -0,0 +1,114 @@
+package com.universidad.service.impl;
+
+import com.universidad.dto.MateriaDTO;
+import com.universidad.model.Materia;
+import com.universidad.repository.MateriaRepository;
+import com.universidad.service.IMateriaService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que la cantidad de sentencias SQL de las lecturas de materias no crece con la cantidad de materias
+ * (sin N+1 al armar las listas de prerequisitos). Cada prueba corre en una transacción que se revierte al final.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional
+class MateriaServiceImplConsultasTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private IMateriaService materiaService;
+
+    @Autowired
+    private MateriaRepository materiaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void listarTodasUsaLasMismasSentenciasConUnaOCincuentaMaterias() {
+        long conUna = sentenciasAlLeer(1, () -> materiaService.obtenerTodasLasMaterias());
+        long conCincuenta = sentenciasAlLeer(50, () -> materiaService.obtenerTodasLasMaterias());
+
+        assertThat(conCincuenta).isEqualTo(conUna);
+    }
+
+    @Test
+    void paginaUsaLasMismasSentenciasConUnaOCincuentaMaterias() {
+        long conUna = sentenciasAlLeer(1, () -> materiaService.obtenerMateriasPaginadas(null, 100).getElementos());
+        long conCincuenta = sentenciasAlLeer(50, () -> materiaService.obtenerMateriasPaginadas(null, 100).getElementos());
+
+        assertThat(conCincuenta).isEqualTo(conUna);
+    }
+
+    @Test
+    void crearMateriaDevuelveLosPrerequisitosDesdeLaTablaIntermedia() {
+        List<Materia> cadena = crearCadena(3);
+        List<Long> ids = cadena.stream().map(Materia::getId).toList();
+
+        MateriaDTO creada = materiaService.crearMateria(MateriaDTO.builder()
+                .nombreMateria("Materia final").codigoUnico("FIN-1").creditos(4).prerequisitos(ids).build());
+
+        assertThat(creada.getPrerequisitos()).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(creada.getEsPrerequisitoDe()).isEmpty();
+    }
+
+    // Reemplaza las materias por una cadena de "cantidad" materias (cada una requiere la anterior) y cuenta
+    // las sentencias preparadas por la lectura, con la sesión y las cachés vacías
+    private long sentenciasAlLeer(int cantidad, Supplier<List<MateriaDTO>> lectura) {
+        materiaRepository.deleteAll();
+        crearCadena(cantidad);
+        entityManager.flush();
+        entityManager.clear();
+        cacheManager.getCacheNames().forEach(nombre -> cacheManager.getCache(nombre).clear());
+
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+        List<MateriaDTO> materias = lectura.get();
+        long sentencias = estadisticas.getPrepareStatementCount();
+
+        assertThat(materias).hasSize(cantidad);
+        return sentencias;
+    }
+
+    private List<Materia> crearCadena(int cantidad) {
+        List<Materia> materias = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            Materia materia = new Materia();
+            materia.setNombreMateria("Materia " + i);
+            materia.setCodigoUnico("MAT-" + System.nanoTime() + "-" + i);
+            materia.setCreditos(4);
+            materia.setPrerequisitos(materias.isEmpty() ? new ArrayList<>() : new ArrayList<>(List.of(materias.get(i - 1))));
+            materias.add(materiaRepository.save(materia));
+        }
+        return materias;
+    }
+}
@@ -0,0 +1,134 @@
+package com.universidad.service.impl;
+
+import com.universidad.dto.EstadisticasDocenteDTO;
+import com.universidad.dto.TendenciaPuntoDTO;
+import com.universidad.model.Docente;
+import com.universidad.model.EvaluacionDocente;
+import com.universidad.repository.DocenteRepository;
+import com.universidad.repository.EvaluacionRollupRepository;
+import com.universidad.service.IEvaluacionDocenteService;
+import com.universidad.service.ITendenciaEvaluacionesService;
+import com.universidad.service.ITendenciaEvaluacionesService.Granularidad;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Verifica la compactación de agregados diarios en mensuales contra PostgreSQL (las sentencias usan
+ * ON CONFLICT y DELETE ... RETURNING). Cada prueba corre en una transacción que se revierte al final.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "app.rollup.retencion-diaria-dias=90")
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional
+class TendenciaEvaluacionesServiceImplTest {
+
+    private static final long DOCENTE = 1L;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private ITendenciaEvaluacionesService tendenciaService;
+
+    @Autowired
+    private EvaluacionRollupRepository evaluacionRollupRepository;
+
+    @Autowired
+    private IEvaluacionDocenteService evaluacionDocenteService;
+
+    @Autowired
+    private DocenteRepository docenteRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final LocalDate hoy = LocalDate.now();
+    // Dos días de un mes fuera del período de retención diaria y uno dentro
+    private final LocalDate mesViejo = hoy.minusDays(200).withDayOfMonth(1);
+    private final LocalDate reciente = hoy.minusDays(1);
+
+    private void cargarDias() {
+        evaluacionRollupRepository.sumarDia(DOCENTE, mesViejo, 2, 9, 41);           // puntuaciones 4 y 5
+        evaluacionRollupRepository.sumarDia(DOCENTE, mesViejo.plusDays(1), 1, 3, 9); // puntuación 3
+        evaluacionRollupRepository.sumarDia(DOCENTE, reciente, 1, 5, 25);
+    }
+
+    @Test
+    void compactarMueveLosDiasViejosAlMesSinCambiarLaTendenciaMensual() {
+        cargarDias();
+        List<TendenciaPuntoDTO> antes = tendenciaService.obtenerTendenciaPorDocente(DOCENTE, Granularidad.MES, mesViejo, hoy);
+
+        assertThat(tendenciaService.compactar()).isEqualTo(1);
+
+        assertThat(tendenciaService.obtenerTendenciaPorDocente(DOCENTE, Granularidad.MES, mesViejo, hoy)).isEqualTo(antes);
+        assertThat(tendenciaService.obtenerTendenciaPorDocente(DOCENTE, Granularidad.DIA, mesViejo, mesViejo.plusDays(1)))
+                .isEmpty();
+        assertThat(tendenciaService.obtenerTendenciaPorDocente(DOCENTE, Granularidad.DIA, reciente, reciente))
+                .extracting(TendenciaPuntoDTO::getCantidad).containsExactly(1L);
+
+        TendenciaPuntoDTO mes = antes.get(0);
+        assertThat(mes.getPeriodo()).isEqualTo(mesViejo);
+        assertThat(mes.getCantidad()).isEqualTo(3);
+        assertThat(mes.getPromedio()).isCloseTo(4.0, within(1e-9));
+        assertThat(mes.getDesviacionEstandar()).isCloseTo(Math.sqrt(2.0 / 3), within(1e-9));
+    }
+
+    @Test
+    void compactarDosVecesNoDuplicaLosAgregados() {
+        cargarDias();
+        tendenciaService.compactar();
+        long filas = evaluacionRollupRepository.contarFilas();
+
+        assertThat(tendenciaService.compactar()).isZero();
+
+        assertThat(evaluacionRollupRepository.contarFilas()).isEqualTo(filas);
+        assertThat(tendenciaService.obtenerTendenciaPorDocente(DOCENTE, Granularidad.MES, mesViejo, mesViejo))
+                .extracting(TendenciaPuntoDTO::getCantidad).containsExactly(3L);
+    }
+
+    @Test
+    void eliminarUnaEvaluacionDeUnDiaCompactadoLaRestaDelMesYDeLasEstadisticas() {
+        Docente docente = docenteRepository.save(Docente.builder()
+                .nombre("Ana").apellido("Pérez").email("ana.perez@uni.edu").fechaNacimiento(LocalDate.of(1980, 1, 1))
+                .nroEmpleado("EMP-ROLLUP-1").departamento("Sistemas").build());
+        EvaluacionDocente eliminada = evaluacionDocenteService.crearEvaluacion(
+                new EvaluacionDocente(null, docente, 4, "Buena", mesViejo));
+        evaluacionDocenteService.crearEvaluacion(new EvaluacionDocente(null, docente, 2, "Regular", mesViejo.plusDays(1)));
+        evaluacionDocenteService.crearEvaluacion(new EvaluacionDocente(null, docente, 5, "Excelente", reciente));
+        tendenciaService.compactar();
+
+        evaluacionDocenteService.eliminarEvaluacion(eliminada.getId());
+        entityManager.clear();
+
+        // El día ya no existe como agregado diario: la baja se restó del agregado mensual
+        assertThat(tendenciaService.obtenerTendenciaPorDocente(docente.getId(), Granularidad.DIA, mesViejo, mesViejo.plusDays(1)))
+                .isEmpty();
+        TendenciaPuntoDTO mes = tendenciaService.obtenerTendenciaPorDocente(
+                docente.getId(), Granularidad.MES, mesViejo, mesViejo).get(0);
+        assertThat(mes.getCantidad()).isEqualTo(1);
+        assertThat(mes.getPromedio()).isCloseTo(2.0, within(1e-9));
+
+        EstadisticasDocenteDTO estadisticas = evaluacionDocenteService.obtenerEstadisticasPorDocente(docente.getId());
+        assertThat(estadisticas.getCantidad()).isEqualTo(2);
+        assertThat(estadisticas.getPromedio()).isCloseTo(3.5, within(1e-9));
+        assertThat(estadisticas.getDistribucion()).containsEntry(4, 0L).containsEntry(2, 1L).containsEntry(5, 1L);
+
+        // La suma de todos los meses coincide con las estadísticas del docente
+        long cantidadEnTendencia = tendenciaService.obtenerTendenciaPorDocente(docente.getId(), Granularidad.MES, mesViejo, hoy)
+                .stream().mapToLong(TendenciaPuntoDTO::getCantidad).sum();
+        assertThat(cantidadEnTendencia).isEqualTo(estadisticas.getCantidad());
+    }
+}
@@ -0,0 +1,73 @@
+package com.universidad.service.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RankingDocentesTest {
+
+    // Filas {docenteId, departamento, cantidad de evaluaciones, suma de puntuaciones}
+    private static RankingDocentes ranking() {
+        return RankingDocentes.construir(List.of(
+                new Object[]{2L, "Sistemas", 10L, 40L},   // 4.0
+                new Object[]{4L, "Sistemas", 10L, 30L},   // 3.0
+                new Object[]{1L, "Sistemas", 10L, 45L},   // 4.5
+                new Object[]{3L, "Sistemas", 20L, 80L},   // 4.0, con más evaluaciones que el docente 2
+                new Object[]{5L, "Sistemas", 0L, 0L},     // sin evaluaciones: no se rankea
+                new Object[]{6L, "Física", 4L, 20L}));    // 5.0
+    }
+
+    @Test
+    void ordenaPorPromedioYDesempataPorCantidadDeEvaluaciones() {
+        RankingDocentes ranking = ranking();
+
+        assertThat(ranking.primeros("Sistemas", 10)).extracting(RankingDocentes.Posicion::docenteId)
+                .containsExactly(1L, 3L, 2L, 4L);
+        assertThat(ranking.primeros("Sistemas", 2)).extracting(RankingDocentes.Posicion::posicion)
+                .containsExactly(1, 2);
+        assertThat(ranking.primeros("Sistemas", -1)).isEmpty();
+        assertThat(ranking.primeros("Química", 5)).isEmpty();
+        assertThat(ranking.total("Sistemas")).isEqualTo(4);
+        assertThat(ranking.contieneDocente(5L)).isFalse();
+    }
+
+    @Test
+    void elPercentilDeUnDocenteCuentaLosEmpatesComoMitad() {
+        RankingDocentes ranking = ranking();
+
+        assertThat(ranking.posicionDe(1L).percentil()).isCloseTo(87.5, within(1e-9));
+        assertThat(ranking.posicionDe(3L).percentil()).isCloseTo(50.0, within(1e-9));
+        assertThat(ranking.posicionDe(2L).percentil()).isCloseTo(50.0, within(1e-9));
+        assertThat(ranking.posicionDe(4L).percentil()).isCloseTo(12.5, within(1e-9));
+        assertThat(ranking.posicionDe(6L).percentil()).isCloseTo(50.0, within(1e-9));
+        assertThat(ranking.posicionDe(2L).posicion()).isEqualTo(3);
+        assertThat(ranking.posicionDe(5L)).isNull();
+    }
+
+    @Test
+    void losPercentilesDelDepartamentoUsanElRangoMasCercano() {
+        RankingDocentes ranking = ranking();
+
+        // Promedios en orden ascendente: 3.0, 4.0, 4.0, 4.5
+        assertThat(ranking.valorPercentil("Sistemas", 0)).isEqualTo(3.0);
+        assertThat(ranking.valorPercentil("Sistemas", 25)).isEqualTo(3.0);
+        assertThat(ranking.valorPercentil("Sistemas", 50)).isEqualTo(4.0);
+        assertThat(ranking.valorPercentil("Sistemas", 75)).isEqualTo(4.0);
+        assertThat(ranking.valorPercentil("Sistemas", 90)).isEqualTo(4.5);
+        assertThat(ranking.valorPercentil("Sistemas", 100)).isEqualTo(4.5);
+        assertThat(ranking.valorPercentil("Física", 50)).isEqualTo(5.0);
+        assertThat(ranking.valorPercentil("Química", 50)).isNull();
+    }
+
+    @Test
+    void elRankingVacioNoTieneDepartamentos() {
+        RankingDocentes ranking = RankingDocentes.vacio();
+
+        assertThat(ranking.departamentos()).isEmpty();
+        assertThat(ranking.posicionDe(1L)).isNull();
+        assertThat(ranking.total("Sistemas")).isZero();
+    }
+}